@@ -0,0 +1,56 @@
+package auction.benchmarks;
+
+import auction.model.Auction;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Auction#getCurrentBid()} is called for every card and bid check, both before an auction is persisted,
+ * when it falls back to the starting price, and after.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuctionBenchmark {
+
+    private Auction withoutBids;
+    private Auction withBids;
+
+    @Setup
+    public void setUp() {
+        withoutBids = auction();
+        withBids = auction();
+        withBids.setCurrentBid(new BigDecimal("150.00"));
+        withBids.setBidCount(3);
+    }
+
+    @Benchmark
+    public BigDecimal currentBidWithoutBids() {
+        return withoutBids.getCurrentBid();
+    }
+
+    @Benchmark
+    public BigDecimal currentBidWithBids() {
+        return withBids.getCurrentBid();
+    }
+
+    private static Auction auction() {
+        return Auction.builder()
+                .id(1L)
+                .title("Vintage Car")
+                .description("1965 Ford Mustang in excellent condition")
+                .startingPrice(new BigDecimal("100.00"))
+                .buyNowPrice(new BigDecimal("200.00"))
+                .startTime(LocalDateTime.now())
+                .endTime(LocalDateTime.now().plusDays(7))
+                .category("Automotive")
+                .status(Auction.AuctionStatus.ACTIVE)
+                .build();
+    }
+}
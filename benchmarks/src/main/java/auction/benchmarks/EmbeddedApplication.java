@@ -0,0 +1,108 @@
+package auction.benchmarks;
+
+import auction.App;
+import auction.dao.IUserDAO;
+import auction.model.Auction;
+import auction.model.User;
+import auction.services.IAuctionService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.UUID;
+
+/**
+ * The whole application on a fresh in-memory H2 database and a random port, quiet enough to be measured.
+ * Extra properties in Spring's {@code name=value} form replace the defaults of the same name. Both are passed as
+ * command line arguments, since those take precedence over application.properties. The JVM runs in the
+ * application's time zone, as {@link App#main} sets it, so stored end times match the database session.
+ */
+public class EmbeddedApplication implements AutoCloseable {
+
+    private final ConfigurableApplicationContext context;
+    private final IAuctionService auctionService;
+    private final IUserDAO userDAO;
+
+    private EmbeddedApplication(ConfigurableApplicationContext context) {
+        this.context = context;
+        this.auctionService = context.getBean(IAuctionService.class);
+        this.userDAO = context.getBean(IUserDAO.class);
+    }
+
+    public static EmbeddedApplication start(String... properties) {
+        Map<String, String> arguments = new LinkedHashMap<>();
+        for (String property : List.of("server.port=0",
+                "spring.datasource.url=jdbc:h2:mem:bench-" + UUID.randomUUID(),
+                "spring.jpa.show-sql=false",
+                "spring.h2.console.enabled=false",
+                "logging.level.root=WARN")) {
+            arguments.put(name(property), property);
+        }
+        for (String property : properties) {
+            // a repeated argument would be bound as "first,second", so an override replaces the default
+            arguments.put(name(property), property);
+        }
+        TimeZone.setDefault(TimeZone.getTimeZone(App.TIME_ZONE));
+        return new EmbeddedApplication(new SpringApplicationBuilder(App.class)
+                .run(arguments.values().stream()
+                        .map(property -> "--" + property)
+                        .toArray(String[]::new)));
+    }
+
+    private static String name(String property) {
+        int separator = property.indexOf('=');
+        return separator < 0 ? property : property.substring(0, separator);
+    }
+
+    public IAuctionService auctionService() {
+        return auctionService;
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    public User user(String login) {
+        return userDAO.getByLogin(login)
+                .orElseThrow(() -> new IllegalStateException("User " + login + " does not exist"));
+    }
+
+    /**
+     * Registers {@code count} new users with distinct logins.
+     */
+    public List<User> registerUsers(String prefix, int count) {
+        List<User> users = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            users.add(new User(null, prefix, String.valueOf(i), prefix + "-" + i, "5f4dcc3b5aa765d61d8327deb882cf99",
+                    User.Role.USER));
+        }
+        userDAO.saveAll(users);
+        return users;
+    }
+
+    public Auction createAuction(User seller, BigDecimal startingPrice, BigDecimal buyNowPrice, Duration length) {
+        Auction auction = Auction.builder()
+                .title("Benchmark auction")
+                .description("Auction created by the benchmarks")
+                .startingPrice(startingPrice)
+                .buyNowPrice(buyNowPrice)
+                .endTime(LocalDateTime.now().plus(length))
+                .seller(seller)
+                .category("Collectibles")
+                .build();
+        auctionService.createAuction(auction);
+        return auction;
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+}
@@ -0,0 +1,76 @@
+package auction.benchmarks;
+
+import auction.events.AuctionCreatedEvent;
+import auction.model.Auction;
+import auction.model.AuctionCard;
+import auction.repository.listing.AuctionSort;
+import auction.repository.listing.ListingCursor;
+import auction.services.readmodel.ActiveAuctionReadModel;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sorted listing pages as the auction list serves them. Sorting no longer happens in the controller: every
+ * order is kept by the {@link ActiveAuctionReadModel} skip lists, so this measures {@code findPage} for each
+ * {@link AuctionSort}, for the first page and for a page continued from a cursor halfway through, over
+ * {@link #AUCTIONS} active auctions.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ListingBenchmark {
+
+    private static final int AUCTIONS = 10_000;
+    private static final int PAGE_SIZE = 20;
+    private static final String[] CATEGORIES = {"Real Estate", "Automotive", "Art and Antiques",
+            "Fashion and Accessories", "Collectibles", "Jewelry"};
+
+    @Param({"DEFAULT", "PRICE_ASC", "PRICE_DESC", "TIME_ASC", "TIME_DESC", "POPULARITY"})
+    private AuctionSort sort;
+
+    @Param({"", "Jewelry"})
+    private String category;
+
+    private ActiveAuctionReadModel readModel;
+    private ListingCursor middle;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        readModel = new ActiveAuctionReadModel(null);
+        Random random = new Random(42);
+        LocalDateTime now = LocalDateTime.now();
+        for (long id = 1; id <= AUCTIONS; id++) {
+            BigDecimal startingPrice = BigDecimal.valueOf(100 + random.nextInt(100_000), 2);
+            int bidCount = random.nextInt(50);
+            BigDecimal currentBid = startingPrice.add(BigDecimal.valueOf(bidCount * 100L, 2));
+            readModel.onCreated(new AuctionCreatedEvent(new AuctionCard(id, "Auction " + id, "Description " + id,
+                    CATEGORIES[random.nextInt(CATEGORIES.length)], Auction.AuctionStatus.ACTIVE, startingPrice,
+                    startingPrice.multiply(BigDecimal.TEN), currentBid, bidCount,
+                    now.plusMinutes(random.nextInt(60 * 24 * 7)))));
+        }
+        List<AuctionCard> firstHalf = readModel.findPage(categoryFilter(), null, sort, null, AUCTIONS / 2);
+        middle = ListingCursor.after(sort, firstHalf.get(firstHalf.size() / 2));
+    }
+
+    @Benchmark
+    public List<AuctionCard> firstPage() {
+        return readModel.findPage(categoryFilter(), null, sort, null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<AuctionCard> pageAfterCursor() {
+        return readModel.findPage(categoryFilter(), null, sort, middle, PAGE_SIZE);
+    }
+
+    private String categoryFilter() {
+        return category.isEmpty() ? null : category;
+    }
+}
@@ -0,0 +1,71 @@
+package auction.benchmarks;
+
+import auction.model.Auction;
+import auction.model.User;
+import auction.services.IAuctionService;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link IAuctionService#placeBid} end to end in a running application on embedded H2: the bid engine, the
+ * batched bid writer and the events that follow a committed bid. Every benchmark thread bids on an auction of
+ * its own, alternating two bidders and raising by one cent each time, so bids never conflict with another
+ * thread and are always accepted. Run with {@code -t} to measure contention on the writer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PlaceBidBenchmark {
+
+    private EmbeddedApplication application;
+    private User seller;
+    private User[] bidders;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        application = EmbeddedApplication.start();
+        seller = application.user("admin");
+        bidders = new User[]{application.user("janusz"), application.user("wiesiek")};
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        application.close();
+    }
+
+    @State(Scope.Thread)
+    public static class Bidding {
+
+        private Long auctionId;
+        private BigDecimal amount;
+        private int bids;
+
+        @Setup(Level.Trial)
+        public void createAuction(PlaceBidBenchmark benchmark) {
+            Auction auction = benchmark.application.createAuction(benchmark.seller, new BigDecimal("100.00"),
+                    new BigDecimal("1000000000.00"), Duration.ofDays(1));
+            auctionId = auction.getId();
+            amount = auction.getStartingPrice();
+        }
+
+        User nextBidder(User[] bidders) {
+            return bidders[bids++ % bidders.length];
+        }
+
+        BigDecimal nextAmount() {
+            amount = amount.add(new BigDecimal("0.01"));
+            return amount;
+        }
+    }
+
+    @Benchmark
+    public void placeBid(Bidding bidding) {
+        application.auctionService().placeBid(bidding.auctionId, bidding.nextBidder(bidders), bidding.nextAmount());
+    }
+}
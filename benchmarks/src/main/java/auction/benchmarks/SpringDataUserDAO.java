@@ -0,0 +1,97 @@
+package auction.benchmarks;
+
+import auction.dao.IUserDAO;
+import auction.dao.impl.spring.data.UserDAO;
+import auction.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.EntityTransaction;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Function;
+import java.util.stream.StreamSupport;
+
+/**
+ * The Spring Data repository behind {@link IUserDAO}, so it can be measured like the other backends. Every call
+ * runs in its own transaction and clears the persistence context afterwards, as a request-scoped
+ * EntityManager would, so reads are served by the second-level cache or the database and never by the
+ * first-level cache.
+ * <p>
+ * An EntityManager is not thread-safe, so every benchmark thread gets its own, with a repository bound to it.
+ */
+class SpringDataUserDAO implements IUserDAO, AutoCloseable {
+
+    private final Queue<EntityManager> opened = new ConcurrentLinkedQueue<>();
+    private final ThreadLocal<Session> sessions;
+
+    SpringDataUserDAO(EntityManagerFactory entityManagerFactory) {
+        sessions = ThreadLocal.withInitial(() -> {
+            EntityManager entityManager = entityManagerFactory.createEntityManager();
+            opened.add(entityManager);
+            return new Session(entityManager, new JpaRepositoryFactory(entityManager).getRepository(UserDAO.class));
+        });
+    }
+
+    @Override
+    public Optional<User> getById(Long id) {
+        return inTransaction(repository -> repository.findById(id));
+    }
+
+    @Override
+    public Optional<User> getByLogin(String login) {
+        return inTransaction(repository -> repository.findByLogin(login));
+    }
+
+    @Override
+    public List<User> getAll() {
+        return inTransaction(repository -> StreamSupport.stream(repository.findAll().spliterator(), false).toList());
+    }
+
+    @Override
+    public void save(User user) {
+        inTransaction(repository -> repository.save(user));
+    }
+
+    @Override
+    public void remove(Long id) {
+        inTransaction(repository -> {
+            repository.deleteById(id);
+            return null;
+        });
+    }
+
+    @Override
+    public void update(User user) {
+        inTransaction(repository -> repository.save(user));
+    }
+
+    @Override
+    public void close() {
+        opened.forEach(EntityManager::close);
+        opened.clear();
+    }
+
+    private <T> T inTransaction(Function<UserDAO, T> work) {
+        Session session = sessions.get();
+        EntityManager entityManager = session.entityManager();
+        EntityTransaction transaction = entityManager.getTransaction();
+        transaction.begin();
+        try {
+            T result = work.apply(session.repository());
+            transaction.commit();
+            return result;
+        } catch (RuntimeException e) {
+            transaction.rollback();
+            throw e;
+        } finally {
+            entityManager.clear();
+        }
+    }
+
+    private record Session(EntityManager entityManager, UserDAO repository) {
+    }
+}
@@ -0,0 +1,126 @@
+package auction.benchmarks;
+
+import auction.dao.IUserDAO;
+import auction.dao.impl.memory.IdSequence;
+import auction.dao.impl.memory.UserRepository;
+import auction.model.User;
+import org.h2.jdbcx.JdbcConnectionPool;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Single-user lookups and registrations on every {@link IUserDAO} backend, each against its own embedded H2
+ * database seeded with {@link #USERS} users. The Hibernate backends are configured like the application,
+ * second-level cache included, so lookups measure the cached path once warmed up.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserDAOBenchmark {
+
+    private static final int USERS = 10_000;
+
+    @Param({"memory", "jdbc", "hibernate", "spring-data"})
+    private String backend;
+
+    private JdbcConnectionPool dataSource;
+    private SessionFactory sessionFactory;
+    private IUserDAO userDAO;
+    private Long[] ids;
+    private String[] logins;
+    private final AtomicLong registrations = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        userDAO = switch (backend) {
+            case "memory" -> new UserRepository(new IdSequence());
+            case "jdbc" -> {
+                openDatabase();
+                yield new auction.dao.impl.jdbc.UserDAO(dataSource);
+            }
+            case "hibernate" -> {
+                openDatabase();
+                yield new auction.dao.impl.hibernate.UserDAO(sessionFactory, 50);
+            }
+            case "spring-data" -> {
+                openDatabase();
+                yield new SpringDataUserDAO(sessionFactory);
+            }
+            default -> throw new IllegalArgumentException("Unknown backend " + backend);
+        };
+
+        List<User> users = new ArrayList<>(USERS);
+        for (int i = 0; i < USERS; i++) {
+            users.add(newUser("user" + i));
+        }
+        userDAO.saveAll(users);
+        ids = users.stream().map(User::getId).toArray(Long[]::new);
+        logins = users.stream().map(User::getLogin).toArray(String[]::new);
+    }
+
+    /**
+     * Hibernate creates the schema for every database backend, so the JDBC DAO runs against the same table.
+     */
+    private void openDatabase() {
+        dataSource = JdbcConnectionPool.create("jdbc:h2:mem:users-" + UUID.randomUUID(), "sa", "");
+        Configuration configuration = new Configuration()
+                .addAnnotatedClass(User.class)
+                .setProperty(AvailableSettings.HBM2DDL_AUTO, "create")
+                .setProperty(AvailableSettings.SHOW_SQL, "false")
+                .setProperty(AvailableSettings.STATEMENT_BATCH_SIZE, "50")
+                .setProperty(AvailableSettings.USE_SECOND_LEVEL_CACHE, "true")
+                .setProperty(AvailableSettings.CACHE_REGION_FACTORY, "jcache")
+                .setProperty("hibernate.javax.cache.provider",
+                        "com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider")
+                .setProperty("hibernate.javax.cache.missing_cache_strategy", "create");
+        configuration.getProperties().put(AvailableSettings.JAKARTA_NON_JTA_DATASOURCE, dataSource);
+        sessionFactory = configuration.buildSessionFactory();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (userDAO instanceof SpringDataUserDAO springDataUserDAO) {
+            springDataUserDAO.close();
+        }
+        if (sessionFactory != null) {
+            sessionFactory.close();
+        }
+        if (dataSource != null) {
+            dataSource.dispose();
+        }
+    }
+
+    @Benchmark
+    public Optional<User> getById() {
+        return userDAO.getById(ids[ThreadLocalRandom.current().nextInt(ids.length)]);
+    }
+
+    @Benchmark
+    public Optional<User> getByLogin() {
+        return userDAO.getByLogin(logins[ThreadLocalRandom.current().nextInt(logins.length)]);
+    }
+
+    @Benchmark
+    public User save() {
+        User user = newUser("registered" + registrations.incrementAndGet());
+        userDAO.save(user);
+        return user;
+    }
+
+    private static User newUser(String login) {
+        return new User(null, "Bench", "User", login, "5f4dcc3b5aa765d61d8327deb882cf99", User.Role.USER);
+    }
+}
@@ -0,0 +1,95 @@
+package auction.benchmarks.load;
+
+import auction.model.Auction;
+import auction.model.AuctionDetails;
+import auction.model.Bid;
+import auction.model.User;
+import auction.repository.AuctionRepository;
+import auction.repository.BidRepository;
+import auction.services.IAuctionService;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Checks the stored state of an auction against what its bidders and buyers were told. Bid rows are inserted in
+ * acceptance order, so ordered by id every bid must exceed the one before it, and the last one must be the
+ * auction's current bid and leader; a successful buy-now must be the last row. Once the load is over the cached
+ * details must agree with the database as well.
+ */
+class AuctionInvariants {
+
+    private final AuctionRepository auctionRepository;
+    private final BidRepository bidRepository;
+    private final IAuctionService auctionService;
+
+    AuctionInvariants(AuctionRepository auctionRepository, BidRepository bidRepository, IAuctionService auctionService) {
+        this.auctionRepository = auctionRepository;
+        this.bidRepository = bidRepository;
+        this.auctionService = auctionService;
+    }
+
+    List<String> check(Lot lot) {
+        List<String> violations = new ArrayList<>();
+        String prefix = "Auction " + lot.auctionId() + ": ";
+        Auction auction = auctionRepository.findById(lot.auctionId()).orElseThrow();
+        List<Bid> bids = new ArrayList<>(bidRepository.findByAuctionIdOrderByAmountDesc(lot.auctionId()));
+        bids.sort(Comparator.comparing(Bid::getId));
+
+        long confirmed = lot.acceptedBids() + lot.buyers().size();
+        if (bids.size() != confirmed) {
+            violations.add(prefix + bids.size() + " bids stored but " + confirmed + " confirmed to clients");
+        }
+        if (auction.getBidCount() != bids.size()) {
+            violations.add(prefix + "bid count is " + auction.getBidCount() + " but " + bids.size() + " bids are stored");
+        }
+        BigDecimal highest = null;
+        for (Bid bid : bids) {
+            if (highest != null && bid.getAmount().compareTo(highest) <= 0) {
+                violations.add(prefix + "bid " + bid.getId() + " of " + bid.getAmount()
+                        + " was accepted after a highest bid of " + highest);
+            }
+            highest = highest == null ? bid.getAmount() : highest.max(bid.getAmount());
+        }
+        if (!bids.isEmpty()) {
+            Bid last = bids.get(bids.size() - 1);
+            if (auction.getCurrentBid().compareTo(last.getAmount()) != 0) {
+                violations.add(prefix + "current bid is " + auction.getCurrentBid() + " but the last bid is " + last.getAmount());
+            }
+            if (auction.getLeadingBidder() == null || !auction.getLeadingBidder().getId().equals(last.getBidder().getId())) {
+                violations.add(prefix + "leader is " + idOf(auction.getLeadingBidder())
+                        + " but the last bid is by " + last.getBidder().getId());
+            }
+        }
+
+        if (lot.buyers().size() > 1) {
+            violations.add(prefix + lot.buyers().size() + " buyers were told they won");
+        } else if (lot.buyers().size() == 1) {
+            User buyer = lot.buyers().peek();
+            if (auction.getStatus() != Auction.AuctionStatus.FINISHED) {
+                violations.add(prefix + "bought but still " + auction.getStatus());
+            }
+            if (!buyer.getId().equals(idOf(auction.getWinner()))) {
+                violations.add(prefix + "bought by " + buyer.getId() + " but won by " + idOf(auction.getWinner()));
+            }
+            if (bids.isEmpty() || !bids.get(bids.size() - 1).getBidder().getId().equals(buyer.getId())) {
+                violations.add(prefix + "bids were accepted after the buy-now by " + buyer.getId());
+            }
+        }
+
+        AuctionDetails details = auctionService.getAuctionDetails(lot.auctionId());
+        if (details.getStatus() != auction.getStatus() || details.getBidCount() != auction.getBidCount()
+                || details.getCurrentBid().compareTo(auction.getCurrentBid()) != 0) {
+            violations.add(prefix + "details show " + details.getStatus() + " at " + details.getCurrentBid() + " after "
+                    + details.getBidCount() + " bids but it is " + auction.getStatus() + " at " + auction.getCurrentBid()
+                    + " after " + auction.getBidCount() + " bids");
+        }
+        return violations;
+    }
+
+    private static Long idOf(User user) {
+        return user == null ? null : user.getId();
+    }
+}
@@ -0,0 +1,110 @@
+package auction.benchmarks.load;
+
+import auction.benchmarks.EmbeddedApplication;
+import auction.model.Auction;
+import auction.model.AuctionDetails;
+import auction.model.User;
+import auction.services.IAuctionService;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Buy-now racing bids: in every round a fresh auction is released to all bidders and buyers at once. Bidders
+ * place up to {@link #MAX_BIDS_PER_ROUND} bids, stopping early when they see the auction closed or a purchase
+ * confirmed; buyers try to buy it after a random pause of up to {@link #MAX_BUYER_DELAY_MS}. Exactly one buyer
+ * may win and no bid may be stored after the purchase.
+ */
+class BuyNowRaceScenario implements Scenario {
+
+    static final String NAME = "buy-now-race";
+
+    private static final long MAX_BUYER_DELAY_MS = 50;
+    private static final int MAX_BIDS_PER_ROUND = 20;
+
+    private final EmbeddedApplication application;
+    private final User seller;
+    private final List<User> bidders;
+    private final List<User> buyers;
+    private final int rounds;
+
+    BuyNowRaceScenario(EmbeddedApplication application, User seller, List<User> bidders, List<User> buyers, int rounds) {
+        this.application = application;
+        this.seller = seller;
+        this.bidders = bidders;
+        this.buyers = buyers;
+        this.rounds = rounds;
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public Map<String, Object> settings() {
+        return Map.of("bidders", bidders.size(), "buyers", buyers.size(), "rounds", rounds);
+    }
+
+    @Override
+    public List<Lot> run(LoadRecorder recorder) throws InterruptedException {
+        IAuctionService auctionService = application.auctionService();
+        int clients = bidders.size() + buyers.size();
+        List<Lot> lots = new ArrayList<>(rounds);
+        ExecutorService pool = Workers.pool(NAME, clients);
+        try {
+            for (int round = 0; round < rounds; round++) {
+                Lot lot = new Lot(application.createAuction(seller, new BigDecimal("100.00"), new BigDecimal("100000.00"),
+                        Duration.ofHours(1)).getId());
+                lots.add(lot);
+                CyclicBarrier start = new CyclicBarrier(clients);
+                Workers.runAll(pool, clients, client -> {
+                    await(start);
+                    if (client < bidders.size()) {
+                        bid(recorder, auctionService, lot, bidders.get(client));
+                    } else {
+                        buy(recorder, auctionService, lot, buyers.get(client - bidders.size()));
+                    }
+                });
+            }
+        } finally {
+            pool.shutdown();
+        }
+        return lots;
+    }
+
+    private void bid(LoadRecorder recorder, IAuctionService auctionService, Lot lot, User bidder) {
+        for (int i = 0; i < MAX_BIDS_PER_ROUND && lot.buyers().isEmpty(); i++) {
+            AuctionDetails details = auctionService.getAuctionDetails(lot.auctionId());
+            if (details.getStatus() != Auction.AuctionStatus.ACTIVE) {
+                return;
+            }
+            BigDecimal amount = details.getSuggestedBid().add(BigDecimal.valueOf(ThreadLocalRandom.current().nextInt(5)));
+            if (recorder.call("placeBid", () -> auctionService.placeBid(lot.auctionId(), bidder, amount))) {
+                lot.bidAccepted();
+            }
+        }
+    }
+
+    private void buy(LoadRecorder recorder, IAuctionService auctionService, Lot lot, User buyer) {
+        LockSupport.parkNanos(ThreadLocalRandom.current().nextLong(MAX_BUYER_DELAY_MS * 1_000_000));
+        if (recorder.call("buyNow", () -> auctionService.buyNow(lot.auctionId(), buyer))) {
+            lot.bought(buyer);
+        }
+    }
+
+    private static void await(CyclicBarrier start) {
+        try {
+            start.await();
+        } catch (Exception e) {
+            throw new IllegalStateException("Round did not start", e);
+        }
+    }
+}
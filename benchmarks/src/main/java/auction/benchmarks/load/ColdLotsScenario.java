@@ -0,0 +1,73 @@
+package auction.benchmarks.load;
+
+import auction.benchmarks.EmbeddedApplication;
+import auction.model.User;
+import auction.services.IAuctionService;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Many quiet auctions: every bid goes to a random one of them, so bids rarely conflict and the throughput is
+ * bounded by the bid engine shards and the batched writer rather than by a single auction.
+ */
+class ColdLotsScenario implements Scenario {
+
+    static final String NAME = "cold-lots";
+
+    private final EmbeddedApplication application;
+    private final User seller;
+    private final List<User> bidders;
+    private final int lots;
+    private final Duration duration;
+
+    ColdLotsScenario(EmbeddedApplication application, User seller, List<User> bidders, int lots, Duration duration) {
+        this.application = application;
+        this.seller = seller;
+        this.bidders = bidders;
+        this.lots = lots;
+        this.duration = duration;
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public Map<String, Object> settings() {
+        return Map.of("bidders", bidders.size(), "lots", lots, "durationSeconds", duration.toSeconds());
+    }
+
+    @Override
+    public List<Lot> run(LoadRecorder recorder) throws InterruptedException {
+        IAuctionService auctionService = application.auctionService();
+        List<Lot> auctions = new ArrayList<>(lots);
+        for (int i = 0; i < lots; i++) {
+            auctions.add(new Lot(application.createAuction(seller, new BigDecimal("100.00"),
+                    new BigDecimal("1000000000.00"), Duration.ofHours(1)).getId()));
+        }
+        long deadline = System.nanoTime() + duration.toNanos();
+        ExecutorService pool = Workers.pool(NAME, bidders.size());
+        try {
+            Workers.runAll(pool, bidders.size(), client -> {
+                User bidder = bidders.get(client);
+                while (System.nanoTime() < deadline) {
+                    Lot lot = auctions.get(ThreadLocalRandom.current().nextInt(auctions.size()));
+                    BigDecimal amount = auctionService.getAuctionDetails(lot.auctionId()).getSuggestedBid();
+                    if (recorder.call("placeBid", () -> auctionService.placeBid(lot.auctionId(), bidder, amount))) {
+                        lot.bidAccepted();
+                    }
+                }
+            });
+        } finally {
+            pool.shutdown();
+        }
+        return auctions;
+    }
+}
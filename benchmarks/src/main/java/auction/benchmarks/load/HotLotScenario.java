@@ -0,0 +1,71 @@
+package auction.benchmarks.load;
+
+import auction.benchmarks.EmbeddedApplication;
+import auction.model.User;
+import auction.services.IAuctionService;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A bidding war: every bidder keeps reading the one auction and bidding the suggested amount plus a random
+ * jump until the time is up, going above its own last attempt when the page has not caught up yet. Shows how
+ * many bids per second a single auction sustains and how many get rejected because somebody else was faster.
+ */
+class HotLotScenario implements Scenario {
+
+    static final String NAME = "hot-lot";
+
+    private final EmbeddedApplication application;
+    private final User seller;
+    private final List<User> bidders;
+    private final Duration duration;
+
+    HotLotScenario(EmbeddedApplication application, User seller, List<User> bidders, Duration duration) {
+        this.application = application;
+        this.seller = seller;
+        this.bidders = bidders;
+        this.duration = duration;
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public Map<String, Object> settings() {
+        return Map.of("bidders", bidders.size(), "durationSeconds", duration.toSeconds());
+    }
+
+    @Override
+    public List<Lot> run(LoadRecorder recorder) throws InterruptedException {
+        IAuctionService auctionService = application.auctionService();
+        Lot lot = new Lot(application.createAuction(seller, new BigDecimal("100.00"), new BigDecimal("1000000000.00"),
+                Duration.ofHours(1)).getId());
+        long deadline = System.nanoTime() + duration.toNanos();
+        ExecutorService pool = Workers.pool(NAME, bidders.size());
+        try {
+            Workers.runAll(pool, bidders.size(), client -> {
+                User bidder = bidders.get(client);
+                BigDecimal lastAttempt = BigDecimal.ZERO;
+                while (System.nanoTime() < deadline) {
+                    BigDecimal amount = auctionService.getAuctionDetails(lot.auctionId()).getSuggestedBid()
+                            .max(lastAttempt.add(BigDecimal.ONE))
+                            .add(BigDecimal.valueOf(ThreadLocalRandom.current().nextInt(5)));
+                    lastAttempt = amount;
+                    if (recorder.call("placeBid", () -> auctionService.placeBid(lot.auctionId(), bidder, amount))) {
+                        lot.bidAccepted();
+                    }
+                }
+            });
+        } finally {
+            pool.shutdown();
+        }
+        return List.of(lot);
+    }
+}
@@ -0,0 +1,92 @@
+package auction.benchmarks.load;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Outcomes of one scenario run. Every call is timed into a histogram per operation and outcome, so the slow
+ * accepted bids and the fast rejections do not blur each other's percentiles; rejections are also counted by
+ * message. Only the first {@link #VIOLATIONS_KEPT} invariant violations are kept, all of them are counted.
+ */
+class LoadRecorder {
+
+    private static final int VIOLATIONS_KEPT = 100;
+    private static final double[] PERCENTILES = {0.5, 0.9, 0.99, 0.999};
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> rejections = new ConcurrentHashMap<>();
+    private final LongAdder violationCount = new LongAdder();
+    private final Queue<String> violations = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Runs and times the call. Returns false when it was rejected.
+     */
+    boolean call(String operation, Runnable action) {
+        long start = System.nanoTime();
+        try {
+            action.run();
+            timer(operation, "accepted").record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return true;
+        } catch (RuntimeException e) {
+            timer(operation, "rejected").record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            rejections.computeIfAbsent(operation + ": " + e.getMessage(), reason -> new LongAdder()).increment();
+            return false;
+        }
+    }
+
+    void violation(String message) {
+        violationCount.increment();
+        if (violations.size() < VIOLATIONS_KEPT) {
+            violations.add(message);
+        }
+    }
+
+    ScenarioResult result(String scenario, Map<String, Object> settings, long nanos) {
+        double seconds = nanos / 1_000_000_000.0;
+        List<ScenarioResult.OperationStats> operations = new ArrayList<>();
+        new TreeMap<>(timers).forEach((name, timer) -> {
+            HistogramSnapshot snapshot = timer.takeSnapshot();
+            double[] percentiles = new double[PERCENTILES.length];
+            for (ValueAtPercentile percentile : snapshot.percentileValues()) {
+                for (int i = 0; i < PERCENTILES.length; i++) {
+                    if (percentile.percentile() == PERCENTILES[i]) {
+                        percentiles[i] = percentile.value(TimeUnit.MILLISECONDS);
+                    }
+                }
+            }
+            operations.add(new ScenarioResult.OperationStats(timer.getId().getName(), timer.getId().getTag("outcome"),
+                    snapshot.count(), snapshot.count() / seconds, percentiles[0], percentiles[1], percentiles[2],
+                    percentiles[3], snapshot.max(TimeUnit.MILLISECONDS)));
+        });
+        Map<String, Long> rejected = new TreeMap<>();
+        rejections.forEach((reason, count) -> rejected.put(reason, count.sum()));
+        return new ScenarioResult(scenario, settings, seconds, operations, rejected, violationCount.sum(),
+                List.copyOf(violations));
+    }
+
+    private Timer timer(String operation, String outcome) {
+        return timers.computeIfAbsent(operation + "." + outcome, name -> Timer.builder(operation)
+                .tag("outcome", outcome)
+                .publishPercentiles(PERCENTILES)
+                .percentilePrecision(2)
+                // one bucket that outlives the run, so the percentiles cover all of it and not a sliding window
+                .distributionStatisticBufferLength(1)
+                .distributionStatisticExpiry(Duration.ofDays(1))
+                .register(registry));
+    }
+}
@@ -0,0 +1,57 @@
+package auction.benchmarks.load;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Command line of the load test: {@code name=value} pairs, plus {@code --property=value} pairs that are handed to
+ * the application, e.g. {@code --auction.bids.flush-window-ms=2}.
+ */
+record LoadSettings(List<String> scenarios, int bidders, int buyers, int lots, int rounds, Duration duration,
+                    Path output, List<String> properties) {
+
+    static final List<String> ALL_SCENARIOS = List.of(HotLotScenario.NAME, ColdLotsScenario.NAME, BuyNowRaceScenario.NAME);
+
+    static LoadSettings parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        List<String> properties = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.startsWith("--")) {
+                properties.add(arg.substring(2));
+                continue;
+            }
+            int separator = arg.indexOf('=');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Expected name=value but got " + arg);
+            }
+            values.put(arg.substring(0, separator), arg.substring(separator + 1));
+        }
+        List<String> scenarios = values.containsKey("scenarios")
+                ? Arrays.asList(values.remove("scenarios").split(","))
+                : ALL_SCENARIOS;
+        scenarios.stream()
+                .filter(scenario -> !ALL_SCENARIOS.contains(scenario))
+                .findFirst()
+                .ifPresent(scenario -> {
+                    throw new IllegalArgumentException("Unknown scenario " + scenario + ", expected one of " + ALL_SCENARIOS);
+                });
+        LoadSettings settings = new LoadSettings(scenarios,
+                Integer.parseInt(values.getOrDefault("bidders", "32")),
+                Integer.parseInt(values.getOrDefault("buyers", "2")),
+                Integer.parseInt(values.getOrDefault("lots", "1000")),
+                Integer.parseInt(values.getOrDefault("rounds", "20")),
+                Duration.ofSeconds(Long.parseLong(values.getOrDefault("duration-s", "15"))),
+                Path.of(values.getOrDefault("output", "load-result.json")),
+                properties);
+        values.keySet().removeAll(List.of("bidders", "buyers", "lots", "rounds", "duration-s", "output"));
+        if (!values.isEmpty()) {
+            throw new IllegalArgumentException("Unknown settings " + values.keySet());
+        }
+        return settings;
+    }
+}
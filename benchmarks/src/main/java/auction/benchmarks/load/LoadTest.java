@@ -0,0 +1,77 @@
+package auction.benchmarks.load;
+
+import auction.benchmarks.EmbeddedApplication;
+import auction.model.User;
+import auction.repository.AuctionRepository;
+import auction.repository.BidRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Contention load test. Boots the application on embedded H2, runs the chosen scenarios one after another and
+ * checks the auctions they touched for broken invariants. Prints a summary and writes every number to a JSON
+ * report; exits with status 1 when an invariant was violated.
+ * <p>
+ * {@code java -cp benchmarks/target/benchmarks.jar auction.benchmarks.load.LoadTest scenarios=hot-lot bidders=64}
+ * <p>
+ * Settings: {@code scenarios} (hot-lot, cold-lots, buy-now-race; all by default), {@code bidders}, {@code buyers},
+ * {@code lots}, {@code rounds}, {@code duration-s} and {@code output}.
+ */
+public class LoadTest {
+
+    public static void main(String[] args) throws Exception {
+        LoadSettings settings = LoadSettings.parse(args);
+        List<ScenarioResult> results = new ArrayList<>();
+        try (EmbeddedApplication application = EmbeddedApplication.start(settings.properties().toArray(String[]::new))) {
+            User seller = application.user("admin");
+            AuctionInvariants invariants = new AuctionInvariants(application.bean(AuctionRepository.class),
+                    application.bean(BidRepository.class), application.auctionService());
+            for (String name : settings.scenarios()) {
+                Scenario scenario = scenario(name, application, seller, settings);
+                LoadRecorder recorder = new LoadRecorder();
+                System.out.println("Running " + name + " " + scenario.settings());
+                long start = System.nanoTime();
+                List<Lot> lots = scenario.run(recorder);
+                long nanos = System.nanoTime() - start;
+                lots.forEach(lot -> invariants.check(lot).forEach(recorder::violation));
+                ScenarioResult result = recorder.result(name, scenario.settings(), nanos);
+                print(result);
+                results.add(result);
+            }
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(settings.output().toFile(), results);
+        System.out.println("Report written to " + settings.output().toAbsolutePath());
+        System.exit(results.stream().anyMatch(result -> result.violationCount() > 0) ? 1 : 0);
+    }
+
+    /**
+     * Every scenario gets bidders and buyers of its own, so earlier scenarios leave no proxy bids or leads behind.
+     */
+    private static Scenario scenario(String name, EmbeddedApplication application, User seller, LoadSettings settings) {
+        List<User> bidders = application.registerUsers(name + "-bidder", settings.bidders());
+        return switch (name) {
+            case HotLotScenario.NAME -> new HotLotScenario(application, seller, bidders, settings.duration());
+            case ColdLotsScenario.NAME -> new ColdLotsScenario(application, seller, bidders, settings.lots(), settings.duration());
+            case BuyNowRaceScenario.NAME -> new BuyNowRaceScenario(application, seller, bidders,
+                    application.registerUsers(name + "-buyer", settings.buyers()), settings.rounds());
+            default -> throw new IllegalArgumentException("Unknown scenario " + name);
+        };
+    }
+
+    private static void print(ScenarioResult result) {
+        System.out.printf("%s finished in %.1f s%n", result.scenario(), result.seconds());
+        System.out.printf("  %-10s %-9s %9s %10s %9s %9s %9s %9s %9s%n",
+                "operation", "outcome", "count", "per sec", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (ScenarioResult.OperationStats stats : result.operations()) {
+            System.out.printf("  %-10s %-9s %9d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    stats.operation(), stats.outcome(), stats.count(), stats.perSecond(),
+                    stats.p50Ms(), stats.p90Ms(), stats.p99Ms(), stats.p999Ms(), stats.maxMs());
+        }
+        result.rejections().forEach((reason, count) -> System.out.printf("  rejected %d x %s%n", count, reason));
+        System.out.println("  invariant violations: " + result.violationCount());
+        result.violations().forEach(violation -> System.out.println("    " + violation));
+    }
+}
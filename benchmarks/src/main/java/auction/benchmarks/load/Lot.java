@@ -0,0 +1,41 @@
+package auction.benchmarks.load;
+
+import auction.model.User;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * An auction under load and what the clients were told about it, to be compared with the database afterwards.
+ */
+class Lot {
+
+    private final Long auctionId;
+    private final LongAdder acceptedBids = new LongAdder();
+    private final Queue<User> buyers = new ConcurrentLinkedQueue<>();
+
+    Lot(Long auctionId) {
+        this.auctionId = auctionId;
+    }
+
+    Long auctionId() {
+        return auctionId;
+    }
+
+    void bidAccepted() {
+        acceptedBids.increment();
+    }
+
+    void bought(User buyer) {
+        buyers.add(buyer);
+    }
+
+    long acceptedBids() {
+        return acceptedBids.sum();
+    }
+
+    Queue<User> buyers() {
+        return buyers;
+    }
+}
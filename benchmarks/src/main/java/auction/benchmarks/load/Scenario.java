@@ -0,0 +1,17 @@
+package auction.benchmarks.load;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One kind of load. {@link #run} drives it to the end, reporting every call to the recorder, and returns the
+ * auctions whose stored state is checked afterwards.
+ */
+interface Scenario {
+
+    String name();
+
+    Map<String, Object> settings();
+
+    List<Lot> run(LoadRecorder recorder) throws InterruptedException;
+}
@@ -0,0 +1,15 @@
+package auction.benchmarks.load;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * What one scenario run measured, written to the JSON report as is.
+ */
+record ScenarioResult(String scenario, Map<String, Object> settings, double seconds, List<OperationStats> operations,
+                      Map<String, Long> rejections, long violationCount, List<String> violations) {
+
+    record OperationStats(String operation, String outcome, long count, double perSecond,
+                          double p50Ms, double p90Ms, double p99Ms, double p999Ms, double maxMs) {
+    }
+}
@@ -0,0 +1,52 @@
+package auction.benchmarks.load;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+
+/**
+ * Simulated clients. Every client is a thread of its own that spends most of its time blocked on the
+ * application, so the pool is as large as the number of clients.
+ */
+final class Workers {
+
+    private Workers() {
+    }
+
+    static ExecutorService pool(String name, int clients) {
+        AtomicInteger index = new AtomicInteger();
+        return Executors.newFixedThreadPool(clients, r -> {
+            Thread thread = new Thread(r, name + "-" + index.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Runs {@code client} once for every client index on the pool and waits for all of them. A client failing
+     * with anything but a rejected call is a bug in the scenario and fails the run.
+     */
+    static void runAll(ExecutorService pool, int clients, IntConsumer client) throws InterruptedException {
+        List<Callable<Void>> tasks = new ArrayList<>(clients);
+        for (int i = 0; i < clients; i++) {
+            int index = i;
+            tasks.add(() -> {
+                client.accept(index);
+                return null;
+            });
+        }
+        for (Future<Void> done : pool.invokeAll(tasks)) {
+            try {
+                done.get();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Load client failed", e.getCause());
+            }
+        }
+    }
+}
@@ -2,15 +2,19 @@ package auction;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.scheduling.annotation.EnableScheduling;
 
 import java.util.TimeZone;
 
 @SpringBootApplication
 @EnableScheduling
+@EnableCaching
 public class App {
+    public static final String TIME_ZONE = "Europe/Warsaw";
+
     public static void main(String[] args) {
-        TimeZone.setDefault(TimeZone.getTimeZone("Europe/Warsaw"));
+        TimeZone.setDefault(TimeZone.getTimeZone(TIME_ZONE));
         SpringApplication.run(App.class, args);
     }
 }
@@ -1,11 +1,17 @@
 package auction.config;
 
+import auction.dao.IUserDAO;
 import auction.filters.AdminFilter;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
 
+import javax.sql.DataSource;
+
 @Configuration
 @ComponentScan("auction")
 public class AppConfiguration {
@@ -21,4 +27,23 @@ public class AppConfiguration {
 
         return registrationBean;
     }
+
+    /**
+     * The IUserDAO backend is picked with auction.users.dao: hibernate (default) or jdbc. Both keep users in the
+     * tuser table that auctions, bids and proxy bids reference, and that DataInitialization seeds. The in-memory
+     * UserRepository cannot back the web application for that reason and is meant for tests and benchmarks only.
+     * Note that jdbc updates and removals bypass Hibernate's second-level cache of users.
+     */
+    @Bean
+    public IUserDAO userDAOBackend(@Value("${auction.users.dao:hibernate}") String backend,
+                                   @Value("${auction.users.batch-size:50}") int batchSize,
+                                   EntityManagerFactory entityManagerFactory, DataSource dataSource) {
+        return switch (backend) {
+            case "hibernate" ->
+                    new auction.dao.impl.hibernate.UserDAO(entityManagerFactory.unwrap(SessionFactory.class), batchSize);
+            case "jdbc" -> new auction.dao.impl.jdbc.UserDAO(dataSource);
+            default -> throw new IllegalStateException("Unknown auction.users.dao " + backend
+                    + ", expected hibernate or jdbc; users must live in the tuser table the auctions reference");
+        };
+    }
 }
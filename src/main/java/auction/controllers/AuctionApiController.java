@@ -0,0 +1,154 @@
+package auction.controllers;
+
+import auction.exceptions.AuctionNotFoundException;
+import auction.exceptions.UserNotLoggedException;
+import auction.model.AuctionCard;
+import auction.model.AuctionDetails;
+import auction.model.User;
+import auction.services.AuctionPage;
+import auction.services.IAuctionService;
+import auction.session.SessionConstants;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * JSON version of the auction pages for apps and partners. Users are identified by the same session as on the
+ * web pages. Collections that can grow without bound are streamed as newline-delimited JSON straight from a
+ * database cursor.
+ * <p>
+ * Rejected requests answer 400 and unknown auctions 404, both with the reason in the body. Any other failure is
+ * left to the default error handling, so internal messages never reach the client.
+ */
+@RestController
+@RequestMapping("/api/v1")
+public class AuctionApiController {
+
+    private final IAuctionService auctionService;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public AuctionApiController(IAuctionService auctionService, ObjectMapper objectMapper) {
+        this.auctionService = auctionService;
+        this.objectMapper = objectMapper;
+    }
+
+    @GetMapping("/auctions")
+    public AuctionPage listAuctions(@RequestParam(required = false) String category,
+                                    @RequestParam(required = false) String search,
+                                    @RequestParam(required = false) String sort,
+                                    @RequestParam(required = false) String cursor,
+                                    @RequestParam(required = false) Integer size) {
+        return auctionService.getActiveAuctionsPage(category, search, sort, cursor, size);
+    }
+
+    @GetMapping("/auctions/{id}")
+    public AuctionDetails getAuction(@PathVariable Long id) {
+        return auctionService.getAuctionDetails(id);
+    }
+
+    @GetMapping(path = "/auctions/{id}/bids", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public StreamingResponseBody getBids(@PathVariable Long id) {
+        auctionService.getAuctionDetails(id);
+        return out -> auctionService.forEachBidOfAuction(id, writeLine(out));
+    }
+
+    @PostMapping("/auctions/{id}/bids")
+    public AuctionDetails placeBid(@PathVariable Long id, @RequestBody BidRequest request, HttpSession session) {
+        auctionService.placeBid(id, loggedUser(session), required(request.amount(), "amount"));
+        return auctionService.getAuctionDetails(id);
+    }
+
+    @PostMapping("/auctions/{id}/proxy-bids")
+    public AuctionDetails placeProxyBid(@PathVariable Long id, @RequestBody ProxyBidRequest request, HttpSession session) {
+        auctionService.placeProxyBid(id, loggedUser(session), required(request.maxAmount(), "maxAmount"));
+        return auctionService.getAuctionDetails(id);
+    }
+
+    @PostMapping("/auctions/{id}/buy")
+    public AuctionDetails buyNow(@PathVariable Long id, HttpSession session) {
+        auctionService.buyNow(id, loggedUser(session));
+        return auctionService.getAuctionDetails(id);
+    }
+
+    @GetMapping(path = "/auctions/archive", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public StreamingResponseBody getArchive() {
+        return out -> auctionService.forEachArchivedAuction(writeLine(out));
+    }
+
+    @GetMapping("/me/bids")
+    public List<AuctionCard> getMyBids(HttpSession session) {
+        return auctionService.getActiveAuctionsWithUserBids(loggedUser(session));
+    }
+
+    @GetMapping(path = "/me/bids/history", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public StreamingResponseBody getMyBidHistory(HttpSession session) {
+        User user = loggedUser(session);
+        return out -> auctionService.forEachBidOfUser(user, writeLine(out));
+    }
+
+    @GetMapping("/me/purchases")
+    public List<AuctionCard> getMyPurchases(HttpSession session) {
+        return auctionService.getUserPurchases(loggedUser(session));
+    }
+
+    @ExceptionHandler(UserNotLoggedException.class)
+    public ResponseEntity<Map<String, String>> notLogged() {
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("error", "Log in first"));
+    }
+
+    @ExceptionHandler(AuctionNotFoundException.class)
+    public ResponseEntity<Map<String, String>> notFound(AuctionNotFoundException e) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", String.valueOf(e.getMessage())));
+    }
+
+    @ExceptionHandler({IllegalArgumentException.class, IllegalStateException.class})
+    public ResponseEntity<Map<String, String>> rejected(RuntimeException e) {
+        return ResponseEntity.badRequest().body(Map.of("error", String.valueOf(e.getMessage())));
+    }
+
+    private User loggedUser(HttpSession session) {
+        User user = (User) session.getAttribute(SessionConstants.USER_KEY);
+        if (user == null) {
+            throw new UserNotLoggedException();
+        }
+        return user;
+    }
+
+    private static <T> T required(T value, String name) {
+        if (value == null) {
+            throw new IllegalArgumentException(name + " is required");
+        }
+        return value;
+    }
+
+    private <T> Consumer<T> writeLine(OutputStream out) {
+        return value -> {
+            try {
+                out.write(objectMapper.writeValueAsBytes(value));
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+    }
+
+    public record BidRequest(BigDecimal amount) {
+    }
+
+    public record ProxyBidRequest(BigDecimal maxAmount) {
+    }
+}
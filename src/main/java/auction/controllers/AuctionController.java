@@ -1,8 +1,15 @@
 package auction.controllers;
 
 import auction.model.Auction;
+import auction.model.AuctionCard;
+import auction.model.AuctionDetails;
 import auction.model.User;
+import auction.services.AuctionPage;
 import auction.services.IAuctionService;
+import auction.services.cache.PageVersions;
+import auction.services.live.AuctionStreamHub;
+import auction.services.live.ListingFeed;
+import auction.services.search.Suggestion;
 import auction.session.SessionConstants;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpSession;
@@ -10,24 +17,38 @@ import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Arrays;
 
 @Controller
 @RequestMapping("/auctions")
 public class                AuctionController {
 
+    private static final String ALL_CATEGORIES = "All";
+    private static final List<String> CATEGORIES = List.of("Real Estate", "Automotive", "Art and Antiques",
+            "Fashion and Accessories", "Collectibles", "Jewelry");
+
     private final IAuctionService auctionService;
+    private final PageVersions pageVersions;
+    private final AuctionStreamHub auctionStreamHub;
+    private final ListingFeed listingFeed;
 
     @Autowired
-    public AuctionController(IAuctionService auctionService) {
+    public AuctionController(IAuctionService auctionService, PageVersions pageVersions,
+                             AuctionStreamHub auctionStreamHub, ListingFeed listingFeed) {
         this.auctionService = auctionService;
+        this.pageVersions = pageVersions;
+        this.auctionStreamHub = auctionStreamHub;
+        this.listingFeed = listingFeed;
     }
 
     @GetMapping
@@ -35,58 +56,50 @@ public class                AuctionController {
                                   @RequestParam(required = false) String category,
                                   @RequestParam(required = false) String sort,
                                   @RequestParam(required = false) String search,
+                                  @RequestParam(required = false) String cursor,
+                                  @RequestParam(required = false) Integer size,
                                   HttpServletRequest request,
+                                  WebRequest webRequest,
                                   HttpSession session) {
-        List<String> categories = Arrays.asList("All", "Real Estate", "Automotive", "Art and Antiques",
-                "Fashion and Accessories", "Collectibles", "Jewelry");
-        model.addAttribute("categories", categories);
+        User user = (User) session.getAttribute(SessionConstants.USER_KEY);
+        if (webRequest.checkNotModified(pageVersions.catalogueTag(user))) {
+            return null;
+        }
+        List<String> categories = new ArrayList<>(CATEGORIES);
+        categories.add(0, ALL_CATEGORIES);
+        model.addAttribute("facets", auctionService.getCategoryFacets(categories, ALL_CATEGORIES));
         model.addAttribute("currentUrl", request.getRequestURI());
-        model.addAttribute("currentCategory", category != null ? category : "All");
+        model.addAttribute("currentCategory", category != null ? category : ALL_CATEGORIES);
         model.addAttribute("currentSort", sort != null ? sort : "");
 
-        List<Auction> auctions;
-        if ("All".equals(category) || category == null) {
-            auctions = auctionService.getAllActiveAuctions();
-        } else {
-            auctions = auctionService.getAuctionsByCategory(category);
-        }
-
-        if (search != null && !search.isEmpty()) {
-            auctions = auctionService.searchAuctions(search);
-        }
-
-        if (sort != null) {
-            switch (sort) {
-                case "price_asc":
-                    auctions.sort((a1, a2) -> a1.getCurrentBid().compareTo(a2.getCurrentBid()));
-                    break;
-                case "price_desc":
-                    auctions.sort((a1, a2) -> a2.getCurrentBid().compareTo(a1.getCurrentBid()));
-                    break;
-                case "time_asc":
-                    auctions.sort((a1, a2) -> a1.getEndTime().compareTo(a2.getEndTime()));
-                    break;
-                case "time_desc":
-                    auctions.sort((a1, a2) -> a2.getEndTime().compareTo(a1.getEndTime()));
-                    break;
-                case "popularity":
-                    auctions.sort((a1, a2) -> Integer.compare(a2.getBids().size(), a1.getBids().size()));
-                    break;
-            }
-        }
+        String categoryFilter = ALL_CATEGORIES.equals(category) ? null : category;
+        AuctionPage page = auctionService.getActiveAuctionsPage(categoryFilter, search, sort, cursor, size);
+        model.addAttribute("currentSearch", search != null ? search : "");
+        model.addAttribute("nextCursor", page.nextCursor());
 
-        User user = (User) session.getAttribute(SessionConstants.USER_KEY);
         boolean isAdmin = user != null && user.getRole() == User.Role.ADMIN;
         model.addAttribute("isAdmin", isAdmin);
 
-        model.addAttribute("auctions", auctions);
+        model.addAttribute("auctions", page.auctions());
 
         return "auction-list";
     }
 
+    @GetMapping(path = "/feed", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @ResponseBody
+    public SseEmitter listingFeed(@RequestParam(required = false) String category) {
+        return listingFeed.subscribe(ALL_CATEGORIES.equals(category) ? null : category);
+    }
+
+    @GetMapping("/autocomplete")
+    @ResponseBody
+    public List<Suggestion> autocomplete(@RequestParam String q, @RequestParam(required = false) Integer limit) {
+        return auctionService.autocomplete(q, limit);
+    }
+
     @GetMapping("/archive")
     public String listArchiveAuctions(Model model) {
-        List<Auction> archivedAuctions = auctionService.getArchivedAuctions();
+        List<AuctionCard> archivedAuctions = auctionService.getArchivedAuctions();
         model.addAttribute("auctions", archivedAuctions);
         return "archive-auctions";
     }
@@ -142,14 +155,20 @@ public class                AuctionController {
             return "redirect:/login";
         }
 
-        List<String> categories = List.of("Real Estate", "Automotive", "Art and Antiques",
-                "Fashion and Accessories", "Collectibles", "Jewelry");
-        model.addAttribute("categories", categories);
+        List<String> categories = new ArrayList<>(CATEGORIES);
+        categories.add(0, ALL_CATEGORIES);
+        model.addAttribute("facets", auctionService.getUserCategoryFacets(user, categories, ALL_CATEGORIES));
         model.addAttribute("currentUrl", request.getRequestURI());
+        model.addAttribute("currentCategory", category != null && !category.isEmpty() ? category : ALL_CATEGORIES);
+        model.addAttribute("currentSort", "");
+        model.addAttribute("currentSearch", search != null ? search : "");
+        // auctions listed from now on have no bids of the user, so they never show up here
+        model.addAttribute("listingNews", false);
 
-        List<Auction> auctions;
-        if (category != null && !category.isEmpty()) {
-            auctions = auctionService.getUserAuctionsByCategory(user, category);
+        String categoryFilter = ALL_CATEGORIES.equals(category) ? null : category;
+        List<AuctionCard> auctions;
+        if (categoryFilter != null && !categoryFilter.isEmpty()) {
+            auctions = auctionService.getUserAuctionsByCategory(user, categoryFilter);
         } else if (search != null && !search.isEmpty()) {
             auctions = auctionService.searchUserAuctions(user, search);
         } else {
@@ -161,19 +180,37 @@ public class                AuctionController {
     }
 
     @GetMapping("/{id}")
-    public String getAuction(@PathVariable Long id, Model model, HttpSession session) {
-        Auction auction = auctionService.getAuctionById(id);
-        model.addAttribute("auction", auction);
-        model.addAttribute("bids", auctionService.getBidsForAuction(id));
+    public String getAuction(@PathVariable Long id, Model model, HttpSession session, WebRequest request) {
+        User viewer = (User) session.getAttribute(SessionConstants.USER_KEY);
+        if (request.checkNotModified(pageVersions.auctionTag(id, viewer))) {
+            return null;
+        }
+        return showAuction(id, model, session);
+    }
+
+    private String showAuction(Long id, Model model, HttpSession session) {
+        AuctionDetails details = auctionService.getAuctionDetails(id);
+        model.addAttribute("auction", details);
+        model.addAttribute("bids", details.getBids());
 
         User user = (User) session.getAttribute(SessionConstants.USER_KEY);
         if (user != null) {
-            model.addAttribute("suggestedBid", auctionService.getSuggestedBid(id));
+            model.addAttribute("suggestedBid", details.getSuggestedBid());
         }
 
         return "auction-details";
     }
 
+    @GetMapping(path = "/{id}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @ResponseBody
+    public SseEmitter streamAuction(@PathVariable Long id) {
+        AuctionDetails details = auctionService.getAuctionDetails(id);
+        if (details.getStatus() != Auction.AuctionStatus.ACTIVE) {
+            return auctionStreamHub.closed();
+        }
+        return auctionStreamHub.subscribe(id);
+    }
+
     @PostMapping("/{id}/bid")
     public String placeBid(@PathVariable Long id, @RequestParam BigDecimal amount, HttpSession session, Model model) {
         User user = (User) session.getAttribute(SessionConstants.USER_KEY);
@@ -184,7 +221,22 @@ public class                AuctionController {
             auctionService.placeBid(id, user, amount);
         } catch (RuntimeException e) {
             model.addAttribute("error", e.getMessage());
-            return getAuction(id, model, session);
+            return showAuction(id, model, session);
+        }
+        return "redirect:/auctions/" + id;
+    }
+
+    @PostMapping("/{id}/proxy-bid")
+    public String placeProxyBid(@PathVariable Long id, @RequestParam BigDecimal maxAmount, HttpSession session, Model model) {
+        User user = (User) session.getAttribute(SessionConstants.USER_KEY);
+        if (user == null) {
+            return "redirect:/login";
+        }
+        try {
+            auctionService.placeProxyBid(id, user, maxAmount);
+        } catch (RuntimeException e) {
+            model.addAttribute("error", e.getMessage());
+            return showAuction(id, model, session);
         }
         return "redirect:/auctions/" + id;
     }
@@ -195,7 +247,7 @@ public class                AuctionController {
         if (user == null) {
             return "redirect:/login";
         }
-        List<Auction> myAuctions = auctionService.getAuctionsBySeller(user);
+        List<AuctionCard> myAuctions = auctionService.getAuctionsBySeller(user);
         model.addAttribute("auctions", myAuctions);
         return "my-auctions";
     }
@@ -286,7 +338,7 @@ public class                AuctionController {
         if (user == null) {
             return "redirect:/login";
         }
-        List<Auction> purchases = auctionService.getUserPurchases(user);
+        List<AuctionCard> purchases = auctionService.getUserPurchases(user);
         model.addAttribute("purchases", purchases);
         return "my-purchases";
     }
@@ -2,6 +2,7 @@ package auction.dao;
 
 import auction.model.User;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,4 +13,22 @@ public interface IUserDAO {
     void save(User user);
     void remove(Long id);
     void update(User user);
+
+    /**
+     * Saves all users and sets their ids. Backends that can do better than one call per user override this.
+     */
+    default void saveAll(Collection<User> users) {
+        users.forEach(this::save);
+    }
+
+    default void updateAll(Collection<User> users) {
+        users.forEach(this::update);
+    }
+
+    /**
+     * The users with the given ids, in no particular order; unknown ids are skipped.
+     */
+    default List<User> getByIds(Collection<Long> ids) {
+        return ids.stream().distinct().map(this::getById).flatMap(Optional::stream).toList();
+    }
 }
@@ -1,102 +1,129 @@
 package auction.dao.impl.hibernate;
 
 import auction.model.User;
-import jakarta.persistence.NoResultException;
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
-import org.hibernate.query.Query;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
 import auction.dao.IUserDAO;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
 
+/**
+ * Users through Hibernate. Lookups by id and by login go through the second-level cache ({@link User} is a
+ * cached entity with login as its natural id), so repeated reads do not reach the database. Bulk writes use a
+ * {@link StatelessSession} with JDBC batching and evict what they touched from the cache afterwards, since
+ * stateless sessions bypass it.
+ */
 public class UserDAO implements IUserDAO {
 
     private final SessionFactory sessionFactory;
+    private final int batchSize;
 
-    public UserDAO(SessionFactory sessionFactory) {
+    public UserDAO(SessionFactory sessionFactory, int batchSize) {
         this.sessionFactory = sessionFactory;
+        this.batchSize = batchSize;
     }
 
     @Override
     public Optional<User> getById(Long id) {
-        Session session = this.sessionFactory.openSession();
-        Query<User> query = session.createQuery("FROM auction.model.User WHERE id = :id", User.class);
-        query.setParameter("id", id);
-        try {
-            User user = query.getSingleResult();
-            return Optional.of(user);
-        } catch (NoResultException e) {
-            return Optional.empty();
-        } finally {
-            session.close();
+        try (Session session = this.sessionFactory.openSession()) {
+            return Optional.ofNullable(session.get(User.class, id));
         }
     }
 
     @Override
     public Optional<User> getByLogin(String login) {
-        Session session = this.sessionFactory.openSession();
-        Query<User> query =
-                session.createQuery("FROM auction.model.User WHERE login = :login", User.class);
-        query.setParameter("login", login);
-        try {
-            User user = query.getSingleResult();
-            return Optional.of(user);
-        } catch (NoResultException e) {
-            return Optional.empty();
-        } finally {
-            session.close();
+        try (Session session = this.sessionFactory.openSession()) {
+            return session.bySimpleNaturalId(User.class).loadOptional(login);
         }
     }
 
     @Override
     public List<User> getAll() {
-        Session session = this.sessionFactory.openSession();
-        Query<User> query = session.createQuery("FROM auction.model.User", User.class);
-        List<User> result = query.getResultList();
-        session.close();
-        return result;
+        try (Session session = this.sessionFactory.openSession()) {
+            return session.createQuery("FROM auction.model.User", User.class).getResultList();
+        }
     }
 
+    /**
+     * Loads the users in batches of ids, taking whatever is cached from the cache.
+     */
     @Override
-    public void save(User user) {
-        Session session = this.sessionFactory.openSession();
-        try {
-            session.beginTransaction();
-            session.persist(user);
-            session.getTransaction().commit();
-        } catch (Exception e) {
-            session.getTransaction().rollback();
-        } finally {
-            session.close();
+    public List<User> getByIds(Collection<Long> ids) {
+        try (Session session = this.sessionFactory.openSession()) {
+            return session.byMultipleIds(User.class)
+                    .withBatchSize(this.batchSize)
+                    .multiLoad(ids.stream().distinct().toList())
+                    .stream()
+                    .filter(Objects::nonNull)
+                    .toList();
         }
     }
 
+    @Override
+    public void save(User user) {
+        inTransaction(session -> session.persist(user));
+    }
+
     @Override
     public void remove(Long id) {
-        Session session = this.sessionFactory.openSession();
-        try {
-            session.beginTransaction();
-            session.remove(new User(id));
-            session.getTransaction().commit();
-        } catch (Exception e) {
-            session.getTransaction().rollback();
-        } finally {
-            session.close();
-        }
+        inTransaction(session -> {
+            User user = session.get(User.class, id);
+            if (user != null) {
+                session.remove(user);
+            }
+        });
     }
 
     @Override
     public void update(User user) {
-        Session session = this.sessionFactory.openSession();
+        inTransaction(session -> session.merge(user));
+    }
+
+    @Override
+    public void saveAll(Collection<User> users) {
+        inStatelessTransaction(session -> users.forEach(session::insert));
+    }
+
+    @Override
+    public void updateAll(Collection<User> users) {
         try {
-            session.beginTransaction();
-            session.merge(user);
-            session.getTransaction().commit();
-        } catch (Exception e) {
-            session.getTransaction().rollback();
+            inStatelessTransaction(session -> users.forEach(session::update));
         } finally {
-            session.close();
+            users.forEach(user -> this.sessionFactory.getCache().evictEntityData(User.class, user.getId()));
+            this.sessionFactory.getCache().evictNaturalIdData(User.class);
+        }
+    }
+
+    private void inTransaction(Consumer<Session> work) {
+        try (Session session = this.sessionFactory.openSession()) {
+            Transaction transaction = session.beginTransaction();
+            try {
+                work.accept(session);
+                transaction.commit();
+            } catch (RuntimeException e) {
+                transaction.rollback();
+                throw e;
+            }
+        }
+    }
+
+    private void inStatelessTransaction(Consumer<StatelessSession> work) {
+        try (StatelessSession session = this.sessionFactory.openStatelessSession()) {
+            session.setJdbcBatchSize(this.batchSize);
+            Transaction transaction = session.beginTransaction();
+            try {
+                work.accept(session);
+                transaction.commit();
+            } catch (RuntimeException e) {
+                transaction.rollback();
+                throw e;
+            }
         }
     }
 }
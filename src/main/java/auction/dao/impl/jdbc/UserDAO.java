@@ -3,111 +3,153 @@ package auction.dao.impl.jdbc;
 import auction.model.User;
 import auction.dao.IUserDAO;
 
+import javax.sql.DataSource;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
+/**
+ * Plain JDBC users. Every call borrows a connection from the pool and closes its statement and result set;
+ * the SQL texts are constants, so the driver's per-connection statement cache reuses the prepared commands.
+ * Bulk operations work in chunks of {@link #CHUNK_SIZE}: inserts go out as one JDBC batch per chunk and lookups
+ * as one IN query per chunk, padded to a fixed number of parameters so every chunk shares the same statement.
+ */
 public class UserDAO  implements IUserDAO {
 
-    private final Connection connection;
-
-    public UserDAO(Connection connection) {
-        this.connection = connection;
+    private static final int CHUNK_SIZE = 500;
+    private static final String COLUMNS = "id, name, surname, login, password, role";
+    private static final String SELECT_BY_ID = "SELECT " + COLUMNS + " FROM tuser WHERE id = ?";
+    private static final String SELECT_BY_LOGIN = "SELECT " + COLUMNS + " FROM tuser WHERE login = ?";
+    private static final String SELECT_ALL = "SELECT " + COLUMNS + " FROM tuser";
+    private static final String SELECT_BY_IDS = "SELECT " + COLUMNS + " FROM tuser WHERE id IN ("
+            + String.join(", ", Collections.nCopies(CHUNK_SIZE, "?")) + ")";
+    private static final String INSERT = "INSERT INTO tuser (name, surname, login, password, role) VALUES (?,?,?,?,?)";
+    private static final String DELETE = "DELETE FROM tuser WHERE id = ?";
+    private static final String UPDATE =
+            "UPDATE tuser SET name = ?, surname = ?, login = ?, password = ?, role = ? WHERE id = ?";
+
+    private final DataSource dataSource;
+
+    public UserDAO(DataSource dataSource) {
+        this.dataSource = dataSource;
     }
 
     @Override
     public Optional<User> getById(Long id) {
-        String sql = "SELECT * FROM tuser WHERE id = ?";
-        try {
-            PreparedStatement preparedStatement = connection.prepareStatement(sql);
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(SELECT_BY_ID)) {
             preparedStatement.setLong(1, id);
-
-            ResultSet rs = preparedStatement.executeQuery();
-            if (rs.next()) {
-                User user = new User();
-                user.setId(rs.getLong("id"));
-                user.setRole(User.Role.valueOf(rs.getString("role")));
-                user.setPassword(rs.getString("password"));
-                user.setLogin(rs.getString("login"));
-                user.setName(rs.getString("name"));
-                user.setSurname(rs.getString("surname"));
-                return Optional.of(user);
-            }
+            return findOne(preparedStatement);
         } catch (SQLException e) {
-            System.out.println("User entity error !!");
+            throw new RuntimeException(e);
         }
-        return Optional.empty();
     }
 
     @Override
     public Optional<User> getByLogin(String login) {
-        String sql = "SELECT * FROM tuser WHERE login = ?";
-        try {
-            PreparedStatement preparedStatement = connection.prepareStatement(sql);
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(SELECT_BY_LOGIN)) {
             preparedStatement.setString(1, login);
-
-            ResultSet rs = preparedStatement.executeQuery();
-            if (rs.next()) {
-                User user = new User();
-                user.setId(rs.getLong("id"));
-                user.setRole(User.Role.valueOf(rs.getString("role")));
-                user.setPassword(rs.getString("password"));
-                user.setLogin(rs.getString("login"));
-                user.setName(rs.getString("name"));
-                user.setSurname(rs.getString("surname"));
-                return Optional.of(user);
-            }
+            return findOne(preparedStatement);
         } catch (SQLException e) {
-            System.out.println("User entity error !!");
+            throw new RuntimeException(e);
         }
-        return Optional.empty();
     }
 
     @Override
     public List<User> getAll() {
-        String sql = "SELECT * FROM tuser";
         List<User> result = new ArrayList<>();
-        try {
-            PreparedStatement preparedStatement = connection.prepareStatement(sql);
-
-            ResultSet rs = preparedStatement.executeQuery();
-            while(rs.next()) {
-                User user = new User();
-                user.setId(rs.getLong("id"));
-                user.setRole(User.Role.valueOf(rs.getString("role")));
-                user.setPassword(rs.getString("password"));
-                user.setLogin(rs.getString("login"));
-                user.setName(rs.getString("name"));
-                user.setSurname(rs.getString("surname"));
-                result.add(user);
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(SELECT_ALL)) {
+            findAll(preparedStatement, result);
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+        return result;
+    }
+
+    @Override
+    public List<User> getByIds(Collection<Long> ids) {
+        List<Long> distinct = ids.stream().distinct().toList();
+        List<User> result = new ArrayList<>(distinct.size());
+        if (distinct.isEmpty()) {
+            return result;
+        }
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(SELECT_BY_IDS)) {
+            for (int from = 0; from < distinct.size(); from += CHUNK_SIZE) {
+                List<Long> chunk = distinct.subList(from, Math.min(from + CHUNK_SIZE, distinct.size()));
+                for (int i = 0; i < CHUNK_SIZE; i++) {
+                    // repeat the last id to fill the unused parameters
+                    preparedStatement.setLong(i + 1, chunk.get(Math.min(i, chunk.size() - 1)));
+                }
+                findAll(preparedStatement, result);
             }
         } catch (SQLException e) {
-            System.out.println("User entity error !!");
+            throw new RuntimeException(e);
         }
         return result;
     }
 
     @Override
     public void save(User user) {
-        String sql = "INSERT INTO tuser (name, surname, login, password, role) VALUES (?,?,?,?,?)";
-        try {
-            PreparedStatement preparedStatement =
-                    this.connection.prepareStatement(sql, PreparedStatement.RETURN_GENERATED_KEYS);
-            preparedStatement.setString(1, user.getName());
-            preparedStatement.setString(2, user.getSurname());
-            preparedStatement.setString(3, user.getLogin());
-            preparedStatement.setString(4, user.getPassword());
-            preparedStatement.setString(5, user.getRole().name());
-
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement preparedStatement =
+                     connection.prepareStatement(INSERT, PreparedStatement.RETURN_GENERATED_KEYS)) {
+            bindColumns(preparedStatement, user);
             preparedStatement.executeUpdate();
 
-            ResultSet rs = preparedStatement.getGeneratedKeys();
-            rs.next();
-            user.setId(rs.getLong(1));
+            try (ResultSet rs = preparedStatement.getGeneratedKeys()) {
+                rs.next();
+                user.setId(rs.getLong(1));
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Inserts all users in one transaction, one batch per chunk, and sets their generated ids.
+     */
+    @Override
+    public void saveAll(Collection<User> users) {
+        List<User> pending = new ArrayList<>(users);
+        if (pending.isEmpty()) {
+            return;
+        }
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try (PreparedStatement preparedStatement =
+                         connection.prepareStatement(INSERT, PreparedStatement.RETURN_GENERATED_KEYS)) {
+                for (int from = 0; from < pending.size(); from += CHUNK_SIZE) {
+                    List<User> chunk = pending.subList(from, Math.min(from + CHUNK_SIZE, pending.size()));
+                    for (User user : chunk) {
+                        bindColumns(preparedStatement, user);
+                        preparedStatement.addBatch();
+                    }
+                    preparedStatement.executeBatch();
+                    try (ResultSet rs = preparedStatement.getGeneratedKeys()) {
+                        for (User user : chunk) {
+                            rs.next();
+                            user.setId(rs.getLong(1));
+                        }
+                    }
+                }
+                connection.commit();
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                pending.forEach(user -> user.setId(null));
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
         } catch (SQLException e) {
             throw new RuntimeException(e);
         }
@@ -115,9 +157,8 @@ public class UserDAO  implements IUserDAO {
 
     @Override
     public void remove(Long id) {
-        String sql = "DELETE FROM tuser WHERE id = ?";
-        try {
-            PreparedStatement preparedStatement = this.connection.prepareStatement(sql);
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(DELETE)) {
             preparedStatement.setLong(1, id);
 
             preparedStatement.executeUpdate();
@@ -128,14 +169,9 @@ public class UserDAO  implements IUserDAO {
 
     @Override
     public void update(User user) {
-        String sql = "UPDATE tuser SET name = ?, surname = ?, login = ?, password = ?, role = ? WHERE id = ?";
-        try {
-            PreparedStatement preparedStatement = this.connection.prepareStatement(sql);
-            preparedStatement.setString(1, user.getName());
-            preparedStatement.setString(2, user.getSurname());
-            preparedStatement.setString(3, user.getLogin());
-            preparedStatement.setString(4, user.getPassword());
-            preparedStatement.setString(5, user.getRole().name());
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(UPDATE)) {
+            bindColumns(preparedStatement, user);
             preparedStatement.setLong(6, user.getId());
 
             preparedStatement.executeUpdate();
@@ -143,4 +179,34 @@ public class UserDAO  implements IUserDAO {
             throw new RuntimeException(e);
         }
     }
+
+    private static void bindColumns(PreparedStatement preparedStatement, User user) throws SQLException {
+        preparedStatement.setString(1, user.getName());
+        preparedStatement.setString(2, user.getSurname());
+        preparedStatement.setString(3, user.getLogin());
+        preparedStatement.setString(4, user.getPassword());
+        preparedStatement.setString(5, user.getRole().name());
+    }
+
+    private static Optional<User> findOne(PreparedStatement preparedStatement) throws SQLException {
+        try (ResultSet rs = preparedStatement.executeQuery()) {
+            return rs.next() ? Optional.of(map(rs)) : Optional.empty();
+        }
+    }
+
+    private static void findAll(PreparedStatement preparedStatement, List<User> result) throws SQLException {
+        try (ResultSet rs = preparedStatement.executeQuery()) {
+            while (rs.next()) {
+                result.add(map(rs));
+            }
+        }
+    }
+
+    /**
+     * Reads a row selected with {@link #COLUMNS}, by position.
+     */
+    private static User map(ResultSet rs) throws SQLException {
+        return new User(rs.getLong(1), rs.getString(2), rs.getString(3), rs.getString(4), rs.getString(5),
+                User.Role.valueOf(rs.getString(6)));
+    }
 }
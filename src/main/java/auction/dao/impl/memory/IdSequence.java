@@ -3,13 +3,26 @@ package auction.dao.impl.memory;
 import org.springframework.context.annotation.Scope;
 import org.springframework.stereotype.Component;
 
+import java.util.concurrent.atomic.AtomicLong;
+
 @Component
 @Scope("prototype")
 public class IdSequence {
 
-    private int lastId = 0;
+    private final AtomicLong lastId = new AtomicLong();
+
+    public long getId() {
+        return lastId.incrementAndGet();
+    }
+
+    public long getLastId() {
+        return lastId.get();
+    }
 
-    public int getId() {
-        return ++lastId;
+    /**
+     * Makes sure ids up to the given one are never handed out again, e.g. after restoring a snapshot.
+     */
+    public void advanceTo(long id) {
+        lastId.accumulateAndGet(id, Math::max);
     }
 }
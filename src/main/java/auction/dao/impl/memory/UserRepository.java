@@ -2,84 +2,198 @@ package auction.dao.impl.memory;
 
 import auction.exceptions.LoginAlreadyExistException;
 import auction.model.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.util.DigestUtils;
 import auction.dao.IUserDAO;
 
-import java.util.ArrayList;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
-public class UserRepository implements IUserDAO {
-    private final List<User> users = new ArrayList<>();
+/**
+ * Users kept in memory, indexed by id and by login in concurrent maps so lookups are a hash probe and never
+ * block. Registration claims the login atomically, so two concurrent registrations of one login cannot both
+ * succeed. Stored users are private copies and every read returns a fresh copy.
+ * <p>
+ * Given a snapshot file the repository restores itself from it on startup and writes a new snapshot every
+ * {@code snapshotIntervalMs} when something changed, and once more on {@link #close()}.
+ */
+public class UserRepository implements IUserDAO, AutoCloseable {
+
+    /**
+     * Id a login maps to while its registration has not got an id yet; ids start at 1, so lookups find nobody.
+     */
+    private static final Long CLAIMED = 0L;
+
+    private final Logger logger = LoggerFactory.getLogger(UserRepository.class);
+
+    private final Map<Long, User> usersById = new ConcurrentHashMap<>();
+    private final Map<String, Long> idsByLogin = new ConcurrentHashMap<>();
     private final IdSequence idSequence;
+    private final AtomicLong changes = new AtomicLong();
+    private final Path snapshotFile;
+    private final ScheduledExecutorService snapshotter;
+    private long snapshottedChanges;
 
     public UserRepository(IdSequence idSequence) {
         this.idSequence = idSequence;
-        this.users.add(new User((long) this.idSequence.getId(), "Janusz", "Kowalski",
+        this.snapshotFile = null;
+        this.snapshotter = null;
+        seed();
+    }
+
+    public UserRepository(IdSequence idSequence, Path snapshotFile, long snapshotIntervalMs) {
+        this.idSequence = idSequence;
+        this.snapshotFile = snapshotFile;
+        if (Files.exists(snapshotFile)) {
+            restore();
+        } else {
+            seed();
+        }
+        this.snapshotter = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "user-snapshots");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.snapshotter.scheduleWithFixedDelay(this::snapshotQuietly, snapshotIntervalMs, snapshotIntervalMs,
+                TimeUnit.MILLISECONDS);
+    }
+
+    private void seed() {
+        this.save(new User(null, "Janusz", "Kowalski",
                 "janusz", DigestUtils.md5DigestAsHex("janusz123".getBytes()), User.Role.USER));
-        this.users.add(new User((long) this.idSequence.getId(), "Wiesiek", "Admin",
+        this.save(new User(null, "Wiesiek", "Admin",
                 "wiesiek", DigestUtils.md5DigestAsHex("wiesiek123".getBytes()), User.Role.ADMIN));
-        this.users.add(new User((long) this.idSequence.getId(), "admin", "admin",
+        this.save(new User(null, "admin", "admin",
                 "admin", DigestUtils.md5DigestAsHex("admin".getBytes()), User.Role.ADMIN));
     }
 
     @Override
     public Optional<User> getById(final Long id) {
-        return this.users.stream()
-                .filter(user -> user.getId().equals(id))
-                .findAny()
-                .map(this::copy);
+        return Optional.ofNullable(this.usersById.get(id)).map(this::copy);
     }
 
     @Override
     public Optional<User> getByLogin(final String login) {
-        return this.users.stream()
-                .filter(user -> user.getLogin().equals(login))
-                .findAny()
-                .map(this::copy);
+        Long id = this.idsByLogin.get(login);
+        return id == null ? Optional.empty() : this.getById(id);
     }
 
     @Override
     public List<User> getAll() {
-        return this.users.stream().map(this::copy).toList();
+        return this.usersById.values().stream().map(this::copy).toList();
     }
 
+    /**
+     * Claims the login before taking an id, so a rejected registration neither uses up an id nor touches the
+     * caller's user. The login points at the new id only once the user can be found by it.
+     */
     @Override
     public void save(User user) {
-        user.setId((long) this.idSequence.getId());
-        this.getByLogin(user.getLogin()).ifPresent(u -> {
+        if (this.idsByLogin.putIfAbsent(user.getLogin(), CLAIMED) != null) {
             throw new LoginAlreadyExistException();
-        });
-        this.users.add(user);
+        }
+        Long id = this.idSequence.getId();
+        User stored = this.copy(user);
+        stored.setId(id);
+        this.usersById.put(id, stored);
+        this.idsByLogin.replace(user.getLogin(), CLAIMED, id);
+        user.setId(id);
+        this.changes.incrementAndGet();
     }
 
     @Override
     public void remove(final Long id) {
-        this.users.removeIf(user -> user.getId().equals(id));
+        User removed = this.usersById.remove(id);
+        if (removed != null) {
+            this.idsByLogin.remove(removed.getLogin(), id);
+            this.changes.incrementAndGet();
+        }
     }
 
     @Override
     public void update(final User user) {
-        this.users.stream()
-                .filter(u -> u.getId().equals(user.getId()))
-                .findAny()
-                .ifPresent(u -> {
-            u.setName(user.getName());
-            u.setSurname(user.getSurname());
-            u.setLogin(user.getLogin());
-            u.setPassword(user.getPassword());
-            u.setRole(user.getRole());
+        this.usersById.computeIfPresent(user.getId(), (id, current) -> {
+            if (!current.getLogin().equals(user.getLogin())) {
+                if (this.idsByLogin.putIfAbsent(user.getLogin(), id) != null) {
+                    throw new LoginAlreadyExistException();
+                }
+                this.idsByLogin.remove(current.getLogin(), id);
+            }
+            this.changes.incrementAndGet();
+            return this.copy(user);
         });
     }
 
+    /**
+     * Writes a snapshot now, whether or not anything changed since the last one.
+     */
+    public synchronized void snapshot() {
+        if (this.snapshotFile == null) {
+            return;
+        }
+        long changesBefore = this.changes.get();
+        List<User> users = List.copyOf(this.usersById.values());
+        // read after the users, so it covers every id among them even while registrations go on
+        long lastId = this.idSequence.getLastId();
+        try {
+            UserSnapshot.write(this.snapshotFile, lastId, users);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write user snapshot " + this.snapshotFile, e);
+        }
+        this.snapshottedChanges = changesBefore;
+    }
+
+    private synchronized void snapshotQuietly() {
+        if (this.changes.get() == this.snapshottedChanges) {
+            return;
+        }
+        try {
+            this.snapshot();
+        } catch (UncheckedIOException e) {
+            this.logger.error("Could not write user snapshot, retrying on the next tick", e);
+        }
+    }
+
+    private void restore() {
+        long start = System.nanoTime();
+        UserSnapshot snapshot;
+        try {
+            snapshot = UserSnapshot.read(this.snapshotFile);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read user snapshot " + this.snapshotFile, e);
+        }
+        long lastId = snapshot.lastId();
+        for (User user : snapshot.users()) {
+            this.usersById.put(user.getId(), user);
+            this.idsByLogin.put(user.getLogin(), user.getId());
+            lastId = Math.max(lastId, user.getId());
+        }
+        this.idSequence.advanceTo(lastId);
+        this.logger.info("Restored " + snapshot.users().size() + " users from " + this.snapshotFile + " in "
+                + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + " ms");
+    }
+
+    @Override
+    public void close() {
+        if (this.snapshotter != null) {
+            this.snapshotter.shutdown();
+            this.snapshot();
+        }
+    }
+
     private User copy(User user) {
-        User u = new User();
-        u.setId(user.getId());
-        u.setName(user.getName());
-        u.setSurname(user.getSurname());
-        u.setLogin(user.getLogin());
-        u.setPassword(user.getPassword());
-        u.setRole(user.getRole());
-        return u;
+        return new User(user.getId(), user.getName(), user.getSurname(), user.getLogin(), user.getPassword(),
+                user.getRole());
     }
 }
@@ -0,0 +1,78 @@
+package auction.dao.impl.memory;
+
+import auction.model.User;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Compact binary image of the in-memory users: a header with the format version, the last id handed out and
+ * the user count, then every user as its id, a role byte and its four strings. It is written to a temporary
+ * file that atomically replaces the previous snapshot, so a crash never leaves a half-written one behind.
+ */
+record UserSnapshot(long lastId, List<User> users) {
+
+    private static final int MAGIC = 0x55534e50;
+    private static final int VERSION = 1;
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    static void write(Path file, long lastId, Collection<User> users) throws IOException {
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(temporary), BUFFER_SIZE))) {
+            List<User> copy = new ArrayList<>(users);
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(lastId);
+            out.writeInt(copy.size());
+            for (User user : copy) {
+                out.writeLong(user.getId());
+                out.writeByte(user.getRole() == null ? -1 : user.getRole().ordinal());
+                writeString(out, user.getName());
+                writeString(out, user.getSurname());
+                writeString(out, user.getLogin());
+                writeString(out, user.getPassword());
+            }
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    static UserSnapshot read(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), BUFFER_SIZE))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("Not a user snapshot: " + file);
+            }
+            long lastId = in.readLong();
+            int count = in.readInt();
+            User.Role[] roles = User.Role.values();
+            List<User> users = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                long id = in.readLong();
+                byte role = in.readByte();
+                users.add(new User(id, readString(in), readString(in), readString(in), readString(in),
+                        role < 0 ? null : roles[role]));
+            }
+            return new UserSnapshot(lastId, users);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
@@ -0,0 +1,7 @@
+package auction.events;
+
+/**
+ * The auction finished, either bought now or expired.
+ */
+public record AuctionClosedEvent(Long auctionId) implements AuctionEvent {
+}
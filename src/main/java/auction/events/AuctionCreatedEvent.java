@@ -0,0 +1,11 @@
+package auction.events;
+
+import auction.model.AuctionCard;
+
+public record AuctionCreatedEvent(AuctionCard auction) implements AuctionEvent {
+
+    @Override
+    public Long auctionId() {
+        return auction.getId();
+    }
+}
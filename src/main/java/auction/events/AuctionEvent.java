@@ -0,0 +1,9 @@
+package auction.events;
+
+/**
+ * Lifecycle change of an auction, published through the application event bus once the change is committed.
+ * In-memory views of active auctions are kept up to date from these events.
+ */
+public interface AuctionEvent {
+    Long auctionId();
+}
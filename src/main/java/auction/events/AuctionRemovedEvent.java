@@ -0,0 +1,4 @@
+package auction.events;
+
+public record AuctionRemovedEvent(Long auctionId) implements AuctionEvent {
+}
@@ -0,0 +1,14 @@
+package auction.events;
+
+import auction.model.AuctionCard;
+
+/**
+ * The seller or an admin edited the auction. Carries the state after the edit, which may no longer be active.
+ */
+public record AuctionUpdatedEvent(AuctionCard auction) implements AuctionEvent {
+
+    @Override
+    public Long auctionId() {
+        return auction.getId();
+    }
+}
@@ -0,0 +1,14 @@
+package auction.events;
+
+import auction.model.BidLine;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * One accepted bid request was committed. A proxy bid can add two bid rows at once, so besides the new bids in
+ * acceptance order the event carries the resulting price, leader and bid count.
+ */
+public record BidPlacedEvent(Long auctionId, BigDecimal currentBid, Long leadingBidderId, int bidCount,
+                             List<BidLine> bids) implements AuctionEvent {
+}
@@ -0,0 +1,7 @@
+package auction.exceptions;
+
+public class AuctionNotFoundException extends RuntimeException {
+    public AuctionNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -9,7 +9,12 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "auctions")
+@Table(name = "auctions", indexes = {
+        @Index(name = "idx_auctions_status_category_end_time", columnList = "status, category, end_time"),
+        @Index(name = "idx_auctions_status_end_time", columnList = "status, end_time"),
+        @Index(name = "idx_auctions_status_current_bid", columnList = "status, current_bid"),
+        @Index(name = "idx_auctions_status_bid_count", columnList = "status, bid_count")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -55,14 +60,37 @@ public class Auction {
     @JoinColumn(name = "winner_id")
     private User winner;
 
+    @Column(nullable = false)
+    private BigDecimal currentBid;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private int bidCount = 0;
+
+    @ManyToOne
+    @JoinColumn(name = "leading_bidder_id")
+    private User leadingBidder;
+
+    @Version
+    private Long version;
+
+    @PrePersist
+    private void initCurrentBid() {
+        if (currentBid == null) {
+            currentBid = startingPrice;
+        }
+    }
+
     public BigDecimal getCurrentBid() {
-        if (bids.isEmpty()) {
-            return startingPrice;
+        return currentBid != null ? currentBid : startingPrice;
+    }
+
+    public void recordBid(User bidder, BigDecimal amount) {
+        if (currentBid == null || bidCount == 0 || amount.compareTo(currentBid) > 0) {
+            currentBid = amount;
+            leadingBidder = bidder;
         }
-        return bids.stream()
-                .map(Bid::getAmount)
-                .max(BigDecimal::compareTo)
-                .orElse(startingPrice);
+        bidCount++;
     }
 
     public enum AuctionStatus {
@@ -0,0 +1,32 @@
+package auction.model;
+
+import lombok.Value;
+import lombok.With;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Read-only summary of an auction for the list views, loaded with a constructor expression so rendering a
+ * page never touches the seller, winner, leader or bids of an auction.
+ */
+@Value
+@With
+public class AuctionCard {
+    Long id;
+    String title;
+    String description;
+    String category;
+    Auction.AuctionStatus status;
+    BigDecimal startingPrice;
+    BigDecimal buyNowPrice;
+    BigDecimal currentBid;
+    int bidCount;
+    LocalDateTime endTime;
+
+    public static AuctionCard of(Auction auction) {
+        return new AuctionCard(auction.getId(), auction.getTitle(), auction.getDescription(), auction.getCategory(),
+                auction.getStatus(), auction.getStartingPrice(), auction.getBuyNowPrice(), auction.getCurrentBid(),
+                auction.getBidCount(), auction.getEndTime());
+    }
+}
@@ -0,0 +1,37 @@
+package auction.model;
+
+import lombok.Value;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Everything the details page shows: the auction, its highest bids with bidder names and the suggested next bid.
+ */
+@Value
+public class AuctionDetails {
+    Long id;
+    String title;
+    String description;
+    String category;
+    Auction.AuctionStatus status;
+    BigDecimal startingPrice;
+    BigDecimal buyNowPrice;
+    BigDecimal currentBid;
+    int bidCount;
+    LocalDateTime endTime;
+    List<BidLine> bids;
+    BigDecimal suggestedBid;
+
+    public static AuctionDetails of(List<AuctionDetailsRow> rows, BigDecimal bidIncrement) {
+        AuctionDetailsRow auction = rows.get(0);
+        List<BidLine> bids = rows.stream()
+                .filter(row -> row.getBidAmount() != null)
+                .map(row -> new BidLine(row.getBidAmount(), row.getBidTime(), row.getBidderName()))
+                .toList();
+        return new AuctionDetails(auction.getId(), auction.getTitle(), auction.getDescription(), auction.getCategory(),
+                auction.getStatus(), auction.getStartingPrice(), auction.getBuyNowPrice(), auction.getCurrentBid(),
+                auction.getBidCount(), auction.getEndTime(), bids, auction.getCurrentBid().add(bidIncrement));
+    }
+}
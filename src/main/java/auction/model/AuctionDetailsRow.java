@@ -0,0 +1,26 @@
+package auction.model;
+
+import lombok.Value;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One row of the details query: the auction joined with one of its bids, or with nulls when it has none.
+ */
+@Value
+public class AuctionDetailsRow {
+    Long id;
+    String title;
+    String description;
+    String category;
+    Auction.AuctionStatus status;
+    BigDecimal startingPrice;
+    BigDecimal buyNowPrice;
+    BigDecimal currentBid;
+    int bidCount;
+    LocalDateTime endTime;
+    BigDecimal bidAmount;
+    LocalDateTime bidTime;
+    String bidderName;
+}
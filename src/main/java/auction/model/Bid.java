@@ -7,7 +7,7 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "bids")
+@Table(name = "bids", indexes = @Index(name = "idx_bids_auction_amount", columnList = "auction_id, amount"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -0,0 +1,18 @@
+package auction.model;
+
+import lombok.Value;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One bid of a user together with the auction it was placed on.
+ */
+@Value
+public class BidHistoryEntry {
+    Long auctionId;
+    String auctionTitle;
+    Auction.AuctionStatus auctionStatus;
+    BigDecimal amount;
+    LocalDateTime bidTime;
+}
@@ -0,0 +1,13 @@
+package auction.model;
+
+import lombok.Value;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Value
+public class BidLine {
+    BigDecimal amount;
+    LocalDateTime bidTime;
+    String bidderName;
+}
@@ -0,0 +1,20 @@
+package auction.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "expiry_leases")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExpiryLease {
+    @Id
+    private Integer rangeId;
+
+    private String owner;
+
+    private LocalDateTime expiresAt;
+}
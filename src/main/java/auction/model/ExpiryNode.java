@@ -0,0 +1,18 @@
+package auction.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "expiry_nodes")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExpiryNode {
+    @Id
+    private String nodeId;
+
+    private LocalDateTime heartbeatAt;
+}
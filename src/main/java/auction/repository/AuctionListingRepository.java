@@ -0,0 +1,17 @@
+package auction.repository;
+
+import auction.model.AuctionCard;
+import auction.repository.listing.AuctionSort;
+import auction.repository.listing.ListingCursor;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface AuctionListingRepository {
+
+    /**
+     * Returns up to {@code limit} active auctions following {@code cursor} in the given order. A null category
+     * or id set does not filter.
+     */
+    List<AuctionCard> findActivePage(String category, Collection<Long> ids, AuctionSort sort, ListingCursor cursor, int limit);
+}
@@ -0,0 +1,59 @@
+package auction.repository;
+
+import auction.model.Auction;
+import auction.model.AuctionCard;
+import auction.repository.listing.AuctionSort;
+import auction.repository.listing.ListingCursor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Collection;
+import java.util.List;
+
+import static auction.repository.listing.AuctionSpecifications.after;
+import static auction.repository.listing.AuctionSpecifications.hasStatus;
+import static auction.repository.listing.AuctionSpecifications.idIn;
+import static auction.repository.listing.AuctionSpecifications.inCategory;
+
+/**
+ * Keyset pagination: instead of an OFFSET the query continues after the (sort key, id) of the last row shown,
+ * so every page costs the same no matter how deep the user has scrolled. Status, category, the search matches
+ * and the cursor are combined into one WHERE clause, which the (status, category, ...) indexes on auctions serve.
+ */
+public class AuctionListingRepositoryImpl implements AuctionListingRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<AuctionCard> findActivePage(String category, Collection<Long> ids, AuctionSort sort, ListingCursor cursor, int limit) {
+        Specification<Auction> filter = Specification.where(hasStatus(Auction.AuctionStatus.ACTIVE))
+                .and(inCategory(category))
+                .and(idIn(ids))
+                .and(after(sort, cursor));
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<AuctionCard> query = cb.createQuery(AuctionCard.class);
+        Root<Auction> auction = query.from(Auction.class);
+
+        Path<Long> id = auction.get("id");
+        Path<?> key = auction.get(sort.getAttribute());
+        List<Order> orderBy = sort == AuctionSort.DEFAULT
+                ? List.of(cb.asc(id))
+                : sort.isAscending() ? List.of(cb.asc(key), cb.asc(id)) : List.of(cb.desc(key), cb.desc(id));
+
+        query.select(cb.construct(AuctionCard.class, auction.get("id"), auction.get("title"),
+                        auction.get("description"), auction.get("category"), auction.get("status"),
+                        auction.get("startingPrice"), auction.get("buyNowPrice"), auction.get("currentBid"),
+                        auction.get("bidCount"), auction.get("endTime")))
+                .where(filter.toPredicate(auction, query, cb))
+                .orderBy(orderBy);
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+}
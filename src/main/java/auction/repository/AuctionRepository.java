@@ -1,26 +1,98 @@
 package auction.repository;
 
 import auction.model.Auction;
+import auction.model.AuctionCard;
+import auction.model.AuctionDetailsRow;
 import auction.model.User;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
-public interface AuctionRepository extends JpaRepository<Auction, Long> {
+public interface AuctionRepository extends JpaRepository<Auction, Long>, AuctionListingRepository {
+    String SELECT_CARD = "SELECT new auction.model.AuctionCard(a.id, a.title, a.description, a.category, a.status, " +
+            "a.startingPrice, a.buyNowPrice, a.currentBid, a.bidCount, a.endTime) FROM Auction a ";
+
     List<Auction> findByStatus(Auction.AuctionStatus status);
 
-    @Query("SELECT DISTINCT a FROM Auction a JOIN a.bids b WHERE b.bidder = :user AND a.status = :status")
-    List<Auction> findAuctionsWithUserBidsByStatus(@Param("user") User user, @Param("status") Auction.AuctionStatus status);
-    List<Auction> findByStatusAndCategory(Auction.AuctionStatus status, String category);
-    List<Auction> findByStatusAndTitleContainingIgnoreCase(Auction.AuctionStatus status, String search);
-    List<Auction> findByStatusAndEndTimeBefore(Auction.AuctionStatus status, LocalDateTime endTime);
-    List<Auction> findBySeller(User seller);
-    List<Auction> findByStatusIn(List<Auction.AuctionStatus> statuses);
-    List<Auction> findByWinnerAndStatus(User winner, Auction.AuctionStatus status);
+    @Query(SELECT_CARD + "WHERE a.status = :status AND EXISTS (SELECT b.id FROM Bid b WHERE b.auction = a AND b.bidder = :user) " +
+            "ORDER BY a.id")
+    List<AuctionCard> findCardsWithUserBidsByStatus(@Param("user") User user, @Param("status") Auction.AuctionStatus status);
+
+    @Query(SELECT_CARD + "WHERE a.id IN :ids AND a.status = :status")
+    List<AuctionCard> findCardsByIdInAndStatus(@Param("ids") Collection<Long> ids, @Param("status") Auction.AuctionStatus status);
+
+    @Query(SELECT_CARD + "WHERE a.seller = :seller ORDER BY a.id")
+    List<AuctionCard> findCardsBySeller(@Param("seller") User seller);
+
+    @Query(SELECT_CARD + "WHERE a.status IN :statuses ORDER BY a.id")
+    List<AuctionCard> findCardsByStatusIn(@Param("statuses") Collection<Auction.AuctionStatus> statuses);
+
+    /**
+     * Same as {@link #findCardsByStatusIn} read from a cursor; consume inside a transaction and close.
+     */
+    @Query(SELECT_CARD + "WHERE a.status IN :statuses ORDER BY a.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<AuctionCard> streamCardsByStatusIn(@Param("statuses") Collection<Auction.AuctionStatus> statuses);
+
+    @Query(SELECT_CARD + "WHERE a.winner = :winner AND a.status = :status ORDER BY a.id")
+    List<AuctionCard> findCardsByWinnerAndStatus(@Param("winner") User winner, @Param("status") Auction.AuctionStatus status);
+
+    /**
+     * The auction joined with its highest bids and their bidders' names, one row per bid, in a single query.
+     */
+    @Query("SELECT new auction.model.AuctionDetailsRow(a.id, a.title, a.description, a.category, a.status, " +
+            "a.startingPrice, a.buyNowPrice, a.currentBid, a.bidCount, a.endTime, b.amount, b.bidTime, u.name) " +
+            "FROM Auction a LEFT JOIN a.bids b LEFT JOIN b.bidder u WHERE a.id = :id ORDER BY b.amount DESC, b.id DESC")
+    List<AuctionDetailsRow> findDetailsRows(@Param("id") Long id, Pageable pageable);
+
+    List<ExpiryView> findExpiryViewsByStatusAndEndTimeAfter(Auction.AuctionStatus status, LocalDateTime endTime);
+
+    @Query("SELECT a.id FROM Auction a WHERE a.status = :status AND a.endTime <= :now AND a.id > :afterId " +
+            "AND MOD(a.id, :ranges) IN :buckets ORDER BY a.id")
+    List<Long> findExpiredIds(@Param("status") Auction.AuctionStatus status, @Param("now") LocalDateTime now,
+                              @Param("afterId") Long afterId, @Param("ranges") long ranges,
+                              @Param("buckets") Collection<Long> buckets, Pageable pageable);
+
+    /**
+     * The given auctions that are still active but past their end time, locked until the end of the transaction so
+     * a concurrent edit of the end time waits for the closing UPDATE.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a.id FROM Auction a WHERE a.id IN :ids AND a.status = :active AND a.endTime <= :now")
+    List<Long> lockExpired(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now,
+                           @Param("active") Auction.AuctionStatus active);
+
+    @Modifying
+    @Query("UPDATE Auction a SET a.status = :finished, a.winner = a.leadingBidder, a.version = a.version + 1 " +
+            "WHERE a.id IN :ids AND a.status = :active AND a.endTime <= :now")
+    int finishExpired(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now,
+                      @Param("active") Auction.AuctionStatus active, @Param("finished") Auction.AuctionStatus finished);
+
+    @Query("SELECT COUNT(a) AS auctions, COALESCE(SUM(a.bidCount), 0) AS bids FROM Auction a WHERE a.status = :status")
+    StatusSummary summarizeByStatus(@Param("status") Auction.AuctionStatus status);
+
+    interface ExpiryView {
+        Long getId();
+        LocalDateTime getEndTime();
+    }
+
+    interface StatusSummary {
+        long getAuctions();
+        long getBids();
+    }
 
 }
\ No newline at end of file
@@ -1,10 +1,31 @@
 package auction.repository;
 
 import auction.model.Bid;
+import auction.model.BidHistoryEntry;
+import auction.model.BidLine;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface BidRepository extends JpaRepository<Bid, Long> {
     List<Bid> findByAuctionIdOrderByAmountDesc(Long auctionId);
-}
\ No newline at end of file
+
+    /**
+     * Streams must be consumed inside a transaction and closed; rows are fetched from the cursor in chunks.
+     */
+    @Query("SELECT new auction.model.BidLine(b.amount, b.bidTime, u.name) FROM Bid b JOIN b.bidder u " +
+            "WHERE b.auction.id = :auctionId ORDER BY b.amount DESC, b.id DESC")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<BidLine> streamLinesByAuctionId(@Param("auctionId") Long auctionId);
+
+    @Query("SELECT new auction.model.BidHistoryEntry(a.id, a.title, a.status, b.amount, b.bidTime) " +
+            "FROM Bid b JOIN b.auction a WHERE b.bidder.id = :bidderId ORDER BY b.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<BidHistoryEntry> streamHistoryByBidderId(@Param("bidderId") Long bidderId);
+}
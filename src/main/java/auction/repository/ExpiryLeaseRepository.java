@@ -0,0 +1,22 @@
+package auction.repository;
+
+import auction.model.ExpiryLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+
+public interface ExpiryLeaseRepository extends JpaRepository<ExpiryLease, Integer> {
+
+    @Modifying
+    @Query("UPDATE ExpiryLease l SET l.owner = :owner, l.expiresAt = :expiresAt " +
+            "WHERE l.rangeId = :rangeId AND (l.owner = :owner OR l.owner IS NULL OR l.expiresAt < :now)")
+    int acquire(@Param("rangeId") Integer rangeId, @Param("owner") String owner,
+                @Param("expiresAt") LocalDateTime expiresAt, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE ExpiryLease l SET l.owner = NULL, l.expiresAt = NULL WHERE l.rangeId = :rangeId AND l.owner = :owner")
+    int release(@Param("rangeId") Integer rangeId, @Param("owner") String owner);
+}
@@ -0,0 +1,11 @@
+package auction.repository;
+
+import auction.model.ExpiryNode;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDateTime;
+
+public interface ExpiryNodeRepository extends JpaRepository<ExpiryNode, String> {
+
+    long countByHeartbeatAtAfter(LocalDateTime time);
+}
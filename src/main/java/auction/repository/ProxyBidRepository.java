@@ -0,0 +1,10 @@
+package auction.repository;
+
+import auction.model.ProxyBid;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+public interface ProxyBidRepository extends JpaRepository<ProxyBid, Long> {
+    Optional<ProxyBid> findFirstByAuctionIdOrderByMaxAmountDescIdAsc(Long auctionId);
+}
@@ -0,0 +1,59 @@
+package auction.repository.listing;
+
+import auction.model.AuctionCard;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.function.Function;
+
+/**
+ * Sort orders of the auction listing. Every order is a single entity attribute with the auction id as tie
+ * breaker, so a page can be continued from the last row of the previous one.
+ */
+public enum AuctionSort {
+    DEFAULT("", "id", true, AuctionCard::getId, Long::valueOf),
+    PRICE_ASC("price_asc", "currentBid", true, AuctionCard::getCurrentBid, BigDecimal::new),
+    PRICE_DESC("price_desc", "currentBid", false, AuctionCard::getCurrentBid, BigDecimal::new),
+    TIME_ASC("time_asc", "endTime", true, AuctionCard::getEndTime, LocalDateTime::parse),
+    TIME_DESC("time_desc", "endTime", false, AuctionCard::getEndTime, LocalDateTime::parse),
+    POPULARITY("popularity", "bidCount", false, AuctionCard::getBidCount, Integer::valueOf);
+
+    private final String param;
+    private final String attribute;
+    private final boolean ascending;
+    private final Function<AuctionCard, Comparable<?>> key;
+    private final Function<String, Comparable<?>> parser;
+
+    AuctionSort(String param, String attribute, boolean ascending,
+                Function<AuctionCard, Comparable<?>> key, Function<String, Comparable<?>> parser) {
+        this.param = param;
+        this.attribute = attribute;
+        this.ascending = ascending;
+        this.key = key;
+        this.parser = parser;
+    }
+
+    public static AuctionSort fromParam(String param) {
+        return Arrays.stream(values())
+                .filter(sort -> sort.param.equals(param))
+                .findFirst()
+                .orElse(DEFAULT);
+    }
+
+    public String getAttribute() {
+        return attribute;
+    }
+
+    public boolean isAscending() {
+        return ascending;
+    }
+
+    public Comparable<?> keyOf(AuctionCard auction) {
+        return key.apply(auction);
+    }
+
+    Comparable<?> parseKey(String value) {
+        return parser.apply(value);
+    }
+}
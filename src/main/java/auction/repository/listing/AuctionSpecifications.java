@@ -0,0 +1,54 @@
+package auction.repository.listing;
+
+import auction.model.Auction;
+import jakarta.persistence.criteria.Expression;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Collection;
+
+/**
+ * Filters of the auction listing. Each returns null when its parameter is absent, so they can be chained with
+ * {@link Specification#and} into a single query.
+ */
+public final class AuctionSpecifications {
+
+    private AuctionSpecifications() {
+    }
+
+    public static Specification<Auction> hasStatus(Auction.AuctionStatus status) {
+        return (auction, query, cb) -> cb.equal(auction.get("status"), status);
+    }
+
+    public static Specification<Auction> inCategory(String category) {
+        if (category == null || category.isEmpty()) {
+            return null;
+        }
+        return (auction, query, cb) -> cb.equal(auction.get("category"), category);
+    }
+
+    public static Specification<Auction> idIn(Collection<Long> ids) {
+        if (ids == null) {
+            return null;
+        }
+        return (auction, query, cb) -> auction.get("id").in(ids);
+    }
+
+    /**
+     * Keyset condition: rows strictly after the cursor in the given order, with the id breaking ties.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static Specification<Auction> after(AuctionSort sort, ListingCursor cursor) {
+        if (cursor == null) {
+            return null;
+        }
+        return (auction, query, cb) -> {
+            Expression<Long> id = auction.get("id");
+            Expression<Comparable> key = auction.get(sort.getAttribute());
+            Comparable value = cursor.key();
+            if (sort.isAscending()) {
+                return cb.or(cb.greaterThan(key, value), cb.and(cb.equal(key, value), cb.greaterThan(id, cursor.id())));
+            }
+            return cb.or(cb.lessThan(key, value), cb.and(cb.equal(key, value), cb.lessThan(id, cursor.id())));
+        };
+    }
+}
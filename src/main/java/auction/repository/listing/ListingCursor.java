@@ -0,0 +1,53 @@
+package auction.repository.listing;
+
+import auction.model.AuctionCard;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position in the auction listing: the sort key and id of the last auction shown. Travels through the page
+ * URL as an opaque url-safe string.
+ */
+public record ListingCursor(Comparable<?> key, Long id) {
+
+    private static final String SEPARATOR = "~";
+
+    public static ListingCursor after(AuctionSort sort, AuctionCard auction) {
+        return new ListingCursor(sort.keyOf(auction), auction.getId());
+    }
+
+    /**
+     * Cursor into relevance-ranked search results, which live in memory and are paged by position. Decode it
+     * with {@link AuctionSort#DEFAULT}.
+     */
+    public static ListingCursor atOffset(int offset) {
+        return new ListingCursor((long) offset, 0L);
+    }
+
+    public int offset() {
+        return ((Number) key).intValue();
+    }
+
+    /**
+     * Returns null for a missing or malformed cursor, which starts the listing from the beginning.
+     */
+    public static ListingCursor decode(AuctionSort sort, String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = value.lastIndexOf(SEPARATOR);
+            return new ListingCursor(sort.parseKey(value.substring(0, separator)),
+                    Long.valueOf(value.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    public String encode() {
+        String value = key + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
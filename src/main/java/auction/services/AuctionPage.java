@@ -0,0 +1,11 @@
+package auction.services;
+
+import auction.model.AuctionCard;
+
+import java.util.List;
+
+/**
+ * One page of the auction listing; {@code nextCursor} is null on the last page.
+ */
+public record AuctionPage(List<AuctionCard> auctions, String nextCursor) {
+}
@@ -1,9 +1,9 @@
 package auction.services;
 
+import auction.dao.IUserDAO;
 import auction.model.Auction;
 import auction.model.User;
 import auction.repository.AuctionRepository;
-import auction.dao.impl.spring.data.UserDAO;
 import lombok.RequiredArgsConstructor;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.stereotype.Service;
@@ -14,15 +14,22 @@ import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 
+/**
+ * Seeds sample users and auctions into an empty database. Users go through the same IUserDAO that
+ * AuthenticationService logs them in with.
+ */
 @Service
 @RequiredArgsConstructor
 public class DataInitialization implements CommandLineRunner {
 
-    private final UserDAO userDAO;
+    private final IUserDAO userDAO;
     private final AuctionRepository auctionRepository;
 
     @Override
     public void run(String... args) throws Exception {
+        if (!userDAO.getAll().isEmpty()) {
+            return;
+        }
         User janusz = new User(null, "Janusz", "Kowalski",
                 "janusz", DigestUtils.md5DigestAsHex("janusz123".getBytes()), User.Role.USER);
         User wiesiek = new User(null, "Wiesiek", "Admin",
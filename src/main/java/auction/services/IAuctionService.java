@@ -1,31 +1,48 @@
 package auction.services;
 
 import auction.model.Auction;
+import auction.model.AuctionCard;
+import auction.model.AuctionDetails;
 import auction.model.Bid;
+import auction.model.BidHistoryEntry;
+import auction.model.BidLine;
 import auction.model.User;
+import auction.services.readmodel.CategoryFacet;
+import auction.services.search.Suggestion;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface IAuctionService {
-    List<Auction> getAllActiveAuctions();
-    List<Auction> getActiveAuctionsWithUserBids(User user);
+    AuctionPage getActiveAuctionsPage(String category, String search, String sort, String cursor, Integer size);
+    List<AuctionCard> getActiveAuctionsWithUserBids(User user);
     Auction getAuctionById(Long id);
+    AuctionDetails getAuctionDetails(Long id);
     void placeBid(Long auctionId, User bidder, BigDecimal amount);
+    void placeProxyBid(Long auctionId, User bidder, BigDecimal maxAmount);
     List<Bid> getBidsForAuction(Long auctionId);
-    BigDecimal getSuggestedBid(Long auctionId);
-    List<Auction> getAuctionsByCategory(String category);
-    List<Auction> searchAuctions(String search);
     void createAuction(Auction auction);
     void buyNow(Long auctionId, User buyer);
     List<Auction> getFinishedAuctions();
-    List<Auction> getUserAuctionsByCategory(User user, String category);
-    List<Auction> searchUserAuctions(User user, String search);
+    List<AuctionCard> getUserAuctionsByCategory(User user, String category);
+    List<AuctionCard> searchUserAuctions(User user, String search);
+    List<Suggestion> autocomplete(String prefix, Integer limit);
+    List<CategoryFacet> getCategoryFacets(List<String> categories, String allCategories);
+    List<CategoryFacet> getUserCategoryFacets(User user, List<String> categories, String allCategories);
 
-    List<Auction> getUserPurchases(User user);
+    List<AuctionCard> getUserPurchases(User user);
 
-    List<Auction> getAuctionsBySeller(User seller);
+    List<AuctionCard> getAuctionsBySeller(User seller);
     void updateAuction(Long id, Auction updatedAuction, User user);
     void removeAuction(Long id, User user);
-    List<Auction> getArchivedAuctions();
+    List<AuctionCard> getArchivedAuctions();
+
+    /**
+     * Hands every archived auction, every bid on an auction or every bid of a user to the consumer while reading
+     * them from a database cursor, so arbitrarily long results take constant memory.
+     */
+    void forEachArchivedAuction(Consumer<AuctionCard> consumer);
+    void forEachBidOfAuction(Long auctionId, Consumer<BidLine> consumer);
+    void forEachBidOfUser(User user, Consumer<BidHistoryEntry> consumer);
 }
\ No newline at end of file
@@ -0,0 +1,210 @@
+package auction.services.bidding;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Group commit for accepted bids. Writes coming from all shards are collected for up to
+ * {@code auction.bids.flush-window-ms} or until {@code auction.bids.batch-size} of them are queued, then
+ * written with JDBC batches in a single transaction. Each submitter gets a future completed by that commit.
+ * <p>
+ * The auction row is only moved up: the update requires the stored current bid to be below the new one, so a
+ * book that fell behind the database (e.g. another node accepted a higher bid on a shared database) cannot
+ * overwrite it. Such a write fails with an {@link OptimisticLockingFailureException}, and the bid engine
+ * reloads the book before the next bid.
+ */
+@Component
+public class BidBatchWriter {
+
+    private static final String INSERT_BID =
+            "INSERT INTO bids (auction_id, bidder_id, amount, bid_time) VALUES (?, ?, ?, ?)";
+    private static final String UPDATE_AUCTION =
+            "UPDATE auctions SET current_bid = ?, leading_bidder_id = ?, bid_count = bid_count + ?, version = version + 1"
+                    + " WHERE id = ? AND (bid_count = 0 OR current_bid < ?)";
+    private static final String UPDATE_PROXY =
+            "UPDATE proxy_bids SET max_amount = ? WHERE auction_id = ? AND bidder_id = ?";
+    private static final String INSERT_PROXY =
+            "INSERT INTO proxy_bids (auction_id, bidder_id, max_amount) VALUES (?, ?, ?)";
+
+    private final Logger logger = LoggerFactory.getLogger(BidBatchWriter.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final long flushWindowNanos;
+    private final DistributionSummary batchSizes;
+    private final Timer flushLatency;
+    private final BlockingQueue<Entry> queue = new LinkedBlockingQueue<>();
+    private final Thread flusher;
+    private volatile boolean running = true;
+
+    @Autowired
+    public BidBatchWriter(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                          @Value("${auction.bids.batch-size:256}") int batchSize,
+                          @Value("${auction.bids.flush-window-ms:5}") long flushWindowMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.flushWindowNanos = TimeUnit.MILLISECONDS.toNanos(flushWindowMs);
+        this.batchSizes = DistributionSummary.builder("auction.bids.batch.size")
+                .description("Accepted bid requests written per commit")
+                .register(meterRegistry);
+        this.flushLatency = Timer.builder("auction.bids.batch.flush")
+                .description("Time spent writing and committing one batch of bids")
+                .register(meterRegistry);
+        this.flusher = new Thread(this::run, "bid-batch-writer");
+        this.flusher.start();
+    }
+
+    CompletableFuture<Void> submit(BidWrite write) {
+        Entry entry = new Entry(write, new CompletableFuture<>());
+        queue.add(entry);
+        return entry.future;
+    }
+
+    /**
+     * Completes once everything submitted before this call has been committed or has failed.
+     */
+    CompletableFuture<Void> barrier() {
+        return submit(null);
+    }
+
+    private void run() {
+        List<Entry> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Entry first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + flushWindowNanos;
+                while (batch.size() < batchSize) {
+                    Entry next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            }
+            if (!batch.isEmpty()) {
+                flush(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<Entry> batch) {
+        long start = System.nanoTime();
+        try {
+            transactionTemplate.executeWithoutResult(status -> write(batch));
+            batch.forEach(entry -> entry.future.complete(null));
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                if (e instanceof OptimisticLockingFailureException) {
+                    logger.warn("Rejected stale bids: " + e.getMessage());
+                } else {
+                    logger.error("Could not persist bids on auction " + batch.get(0).auctionId(), e);
+                }
+                batch.get(0).future.completeExceptionally(e);
+            } else {
+                // do not let one broken write fail the whole group, retry the members on their own
+                batch.forEach(entry -> flush(List.of(entry)));
+                return;
+            }
+        }
+        batchSizes.record(batch.size());
+        flushLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private void write(List<Entry> batch) {
+        List<Object[]> bidRows = new ArrayList<>();
+        Map<Long, Object[]> auctionRows = new LinkedHashMap<>();
+        Map<List<Long>, Object[]> proxyRows = new LinkedHashMap<>();
+
+        for (Entry entry : batch) {
+            BidWrite write = entry.write;
+            if (write == null) {
+                continue;
+            }
+            Timestamp bidTime = Timestamp.valueOf(write.bidTime());
+            for (BidWrite.PendingBid bid : write.bids()) {
+                bidRows.add(new Object[]{write.auctionId(), bid.bidder().getId(), bid.amount(), bidTime});
+            }
+            if (!write.bids().isEmpty()) {
+                BidWrite.PendingBid leader = write.bids().get(write.bids().size() - 1);
+                Object[] previous = auctionRows.get(write.auctionId());
+                int count = write.bids().size() + (previous == null ? 0 : (Integer) previous[2]);
+                auctionRows.put(write.auctionId(), new Object[]{leader.amount(), leader.bidder().getId(), count,
+                        write.auctionId(), leader.amount()});
+            }
+            if (write.proxy() != null) {
+                Long bidderId = write.proxy().bidder().getId();
+                proxyRows.put(List.of(write.auctionId(), bidderId),
+                        new Object[]{write.proxy().maxAmount(), write.auctionId(), bidderId});
+            }
+        }
+
+        if (!bidRows.isEmpty()) {
+            List<Object[]> auctions = new ArrayList<>(auctionRows.values());
+            int[] moved = jdbcTemplate.batchUpdate(UPDATE_AUCTION, auctions);
+            for (int i = 0; i < moved.length; i++) {
+                if (moved[i] == 0) {
+                    throw new OptimisticLockingFailureException("Auction " + auctions.get(i)[3]
+                            + " already has a bid of at least " + auctions.get(i)[0]);
+                }
+            }
+            jdbcTemplate.batchUpdate(INSERT_BID, bidRows);
+        }
+        if (!proxyRows.isEmpty()) {
+            List<Object[]> proxies = new ArrayList<>(proxyRows.values());
+            int[] updated = jdbcTemplate.batchUpdate(UPDATE_PROXY, proxies);
+            List<Object[]> newProxies = new ArrayList<>();
+            for (int i = 0; i < updated.length; i++) {
+                if (updated[i] == 0) {
+                    Object[] row = proxies.get(i);
+                    newProxies.add(new Object[]{row[1], row[2], row[0]});
+                }
+            }
+            if (!newProxies.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_PROXY, newProxies);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        flusher.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    private record Entry(BidWrite write, CompletableFuture<Void> future) {
+        Long auctionId() {
+            return write == null ? null : write.auctionId();
+        }
+    }
+}
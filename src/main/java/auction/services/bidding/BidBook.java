@@ -0,0 +1,38 @@
+package auction.services.bidding;
+
+import auction.model.User;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Top-of-book state of a single auction. Only ever touched by the thread of the shard owning the auction.
+ */
+@Getter
+@Setter
+class BidBook {
+    private final Long auctionId;
+    private final BigDecimal startingPrice;
+    private final LocalDateTime endTime;
+    private boolean active;
+    private BigDecimal highestBid;
+    private Long leaderId;
+    private int bidCount;
+    private Proxy leadingProxy;
+
+    BidBook(Long auctionId, BigDecimal startingPrice, LocalDateTime endTime, boolean active) {
+        this.auctionId = auctionId;
+        this.startingPrice = startingPrice;
+        this.endTime = endTime;
+        this.active = active;
+    }
+
+    boolean isOpen(LocalDateTime now) {
+        return active && !endTime.isBefore(now);
+    }
+
+    record Proxy(User bidder, BigDecimal maxAmount) {
+    }
+}
@@ -0,0 +1,274 @@
+package auction.services.bidding;
+
+import auction.events.BidPlacedEvent;
+import auction.exceptions.AuctionNotFoundException;
+import auction.model.Auction;
+import auction.model.BidLine;
+import auction.model.User;
+import auction.repository.AuctionRepository;
+import auction.repository.ProxyBidRepository;
+import auction.services.bidding.BidWrite.PendingBid;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+/**
+ * Keeps the top of book of every auction that received a bid in memory. Auctions are partitioned into shards
+ * by id and every shard has exactly one thread mutating its books, so accepting or rejecting a bid is a
+ * constant time check without any locking or database read. Accepted bids are handed to the
+ * {@link BidBatchWriter} in acceptance order and the returned future completes once they are committed.
+ * <p>
+ * The resulting {@link BidPlacedEvent}s are published in commit order on a thread of their own, so the group
+ * commit never waits for the listeners. The returned future completes only after its event was published, so a
+ * bidder reading the auction right after the bid sees caches and views that already include it.
+ */
+@Component
+public class BidEngine {
+
+    public static final BigDecimal BID_INCREMENT = BigDecimal.ONE;
+
+    private final Logger logger = LoggerFactory.getLogger(BidEngine.class);
+
+    private final AuctionRepository auctionRepository;
+    private final ProxyBidRepository proxyBidRepository;
+    private final BidBatchWriter batchWriter;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Shard[] shards;
+    private final ExecutorService events = Executors.newSingleThreadExecutor(r -> new Thread(r, "bid-events"));
+
+    @Autowired
+    public BidEngine(AuctionRepository auctionRepository, ProxyBidRepository proxyBidRepository,
+                     BidBatchWriter batchWriter, ApplicationEventPublisher eventPublisher,
+                     @Value("${auction.bids.shards:4}") int shardCount) {
+        this.auctionRepository = auctionRepository;
+        this.proxyBidRepository = proxyBidRepository;
+        this.batchWriter = batchWriter;
+        this.eventPublisher = eventPublisher;
+        this.shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            this.shards[i] = new Shard(i);
+        }
+    }
+
+    public CompletableFuture<Void> placeBid(Long auctionId, User bidder, BigDecimal amount) {
+        return onShard(auctionId, books -> {
+            BidBook book = books.computeIfAbsent(auctionId, this::loadBook);
+            LocalDateTime now = LocalDateTime.now();
+            checkOpen(book, now);
+            if (amount.compareTo(book.getStartingPrice()) < 0) {
+                throw new IllegalArgumentException("Bid amount must be greater than or equal to the starting price");
+            }
+            if (book.getHighestBid() != null && amount.compareTo(book.getHighestBid()) <= 0) {
+                throw new IllegalArgumentException("Bid amount must be greater than the current highest bid");
+            }
+
+            List<PendingBid> bids = new ArrayList<>(2);
+            bids.add(new PendingBid(bidder, amount));
+            BidBook.Proxy leader = book.getLeadingProxy();
+            if (leader != null && !leader.bidder().getId().equals(bidder.getId())
+                    && leader.maxAmount().compareTo(amount) >= 0) {
+                bids.add(new PendingBid(leader.bidder(), leader.maxAmount().min(amount.add(BID_INCREMENT))));
+            } else if (leader != null && leader.maxAmount().compareTo(amount) < 0) {
+                book.setLeadingProxy(null);
+            }
+            return accept(book, bids, null, now);
+        });
+    }
+
+    /**
+     * Registers a maximum the bidder is willing to pay. Every incoming maximum is resolved against the leading
+     * maximum alone, in constant time: whichever maximum it displaces is the second highest and already priced
+     * in, so it never has to be remembered. A request produces at most two bid rows: the outbid party's last
+     * word and the leader's new price.
+     */
+    public CompletableFuture<Void> placeProxyBid(Long auctionId, User bidder, BigDecimal maxAmount) {
+        return onShard(auctionId, books -> {
+            BidBook book = books.computeIfAbsent(auctionId, this::loadBook);
+            LocalDateTime now = LocalDateTime.now();
+            checkOpen(book, now);
+            if (maxAmount.compareTo(book.getStartingPrice()) < 0) {
+                throw new IllegalArgumentException("Maximum bid must be greater than or equal to the starting price");
+            }
+            BigDecimal price = book.getHighestBid();
+            if (price != null && maxAmount.compareTo(price) <= 0) {
+                throw new IllegalArgumentException("Maximum bid must be greater than the current highest bid");
+            }
+
+            BidBook.Proxy incoming = new BidBook.Proxy(bidder, maxAmount);
+            BidBook.Proxy leader = book.getLeadingProxy();
+            List<PendingBid> bids = new ArrayList<>(2);
+
+            if (leader != null && leader.bidder().getId().equals(bidder.getId())) {
+                if (maxAmount.compareTo(leader.maxAmount()) <= 0) {
+                    throw new IllegalArgumentException("Maximum bid must be greater than your current maximum");
+                }
+                book.setLeadingProxy(incoming);
+            } else if (leader == null) {
+                book.setLeadingProxy(incoming);
+                if (price == null) {
+                    bids.add(new PendingBid(bidder, book.getStartingPrice()));
+                } else if (!bidder.getId().equals(book.getLeaderId())) {
+                    bids.add(new PendingBid(bidder, maxAmount.min(price.add(BID_INCREMENT))));
+                }
+            } else if (maxAmount.compareTo(leader.maxAmount()) > 0) {
+                if (leader.maxAmount().compareTo(price) > 0) {
+                    bids.add(new PendingBid(leader.bidder(), leader.maxAmount()));
+                }
+                bids.add(new PendingBid(bidder, maxAmount.min(leader.maxAmount().add(BID_INCREMENT))));
+                book.setLeadingProxy(incoming);
+            } else {
+                bids.add(new PendingBid(bidder, maxAmount));
+                bids.add(new PendingBid(leader.bidder(), leader.maxAmount().min(maxAmount.add(BID_INCREMENT))));
+            }
+            return accept(book, bids, incoming, now);
+        });
+    }
+
+    /**
+     * Stops accepting bids for the auction and waits until the bids accepted so far are committed.
+     * Returns false when the auction was already closed in the book.
+     */
+    public boolean close(Long auctionId) {
+        boolean wasOpen = onShard(auctionId, books -> {
+            BidBook book = books.computeIfAbsent(auctionId, this::loadBook);
+            boolean open = book.isOpen(LocalDateTime.now());
+            book.setActive(false);
+            return open;
+        });
+        batchWriter.barrier().join();
+        return wasOpen;
+    }
+
+    /**
+     * Drops the cached book so the next bid reloads it, e.g. after the end time was edited.
+     */
+    public void evict(Long auctionId) {
+        onShard(auctionId, books -> books.remove(auctionId));
+    }
+
+    private void checkOpen(BidBook book, LocalDateTime now) {
+        if (!book.isOpen(now)) {
+            throw new IllegalStateException("This auction is not active");
+        }
+    }
+
+    private CompletableFuture<Void> accept(BidBook book, List<PendingBid> bids, BidBook.Proxy proxy, LocalDateTime now) {
+        Long auctionId = book.getAuctionId();
+        BidPlacedEvent placed = null;
+        if (!bids.isEmpty()) {
+            PendingBid last = bids.get(bids.size() - 1);
+            book.setHighestBid(last.amount());
+            book.setLeaderId(last.bidder().getId());
+            book.setBidCount(book.getBidCount() + bids.size());
+            List<BidLine> lines = bids.stream()
+                    .map(bid -> new BidLine(bid.amount(), now, bid.bidder().getName()))
+                    .toList();
+            placed = new BidPlacedEvent(auctionId, last.amount(), last.bidder().getId(), book.getBidCount(), lines);
+        }
+        BidPlacedEvent event = placed;
+        CompletableFuture<Void> committed = batchWriter.submit(new BidWrite(auctionId, bids, proxy, now))
+                .whenComplete((ignored, failure) -> {
+                    if (failure != null) {
+                        // the book is ahead of the database now, make the next bid reload it
+                        shardOf(auctionId).writer.execute(() -> shardOf(auctionId).books.remove(auctionId));
+                    }
+                });
+        return event == null ? committed : committed.thenRunAsync(() -> publish(event), events);
+    }
+
+    /**
+     * The bid is committed by now, a failing listener must not make it look rejected to the bidder.
+     */
+    private void publish(BidPlacedEvent event) {
+        try {
+            eventPublisher.publishEvent(event);
+        } catch (RuntimeException e) {
+            logger.error("Could not publish bid placed on auction " + event.auctionId(), e);
+        }
+    }
+
+    /**
+     * Drops the books of auctions that are closed in bulk and waits until their accepted bids are committed.
+     * A later bid reloads the book and is rejected because the end time has passed.
+     */
+    public void evictAll(Collection<Long> auctionIds) {
+        Map<Shard, List<Long>> byShard = new HashMap<>();
+        auctionIds.forEach(id -> byShard.computeIfAbsent(shardOf(id), shard -> new ArrayList<>()).add(id));
+        CompletableFuture.allOf(byShard.entrySet().stream()
+                .map(entry -> CompletableFuture.runAsync(
+                        () -> entry.getValue().forEach(entry.getKey().books::remove), entry.getKey().writer))
+                .toArray(CompletableFuture[]::new)).join();
+        batchWriter.barrier().join();
+    }
+
+    private BidBook loadBook(Long auctionId) {
+        // bids of an evicted book may still be queued for writing, wait for them before reading the auction
+        batchWriter.barrier().join();
+
+        Auction auction = auctionRepository.findById(auctionId)
+                .orElseThrow(() -> new AuctionNotFoundException("Auction not found with id: " + auctionId));
+        BidBook book = new BidBook(auctionId, auction.getStartingPrice(), auction.getEndTime(),
+                auction.getStatus() == Auction.AuctionStatus.ACTIVE);
+        book.setBidCount(auction.getBidCount());
+        if (auction.getBidCount() > 0) {
+            book.setHighestBid(auction.getCurrentBid());
+            book.setLeaderId(auction.getLeadingBidder().getId());
+        }
+
+        proxyBidRepository.findFirstByAuctionIdOrderByMaxAmountDescIdAsc(auctionId)
+                .filter(proxy -> proxy.getBidder().getId().equals(book.getLeaderId())
+                        && proxy.getMaxAmount().compareTo(book.getHighestBid()) >= 0)
+                .ifPresent(proxy -> book.setLeadingProxy(new BidBook.Proxy(proxy.getBidder(), proxy.getMaxAmount())));
+        return book;
+    }
+
+    private <T> T onShard(Long auctionId, Function<Map<Long, BidBook>, T> action) {
+        Shard shard = shardOf(auctionId);
+        try {
+            return CompletableFuture.supplyAsync(() -> action.apply(shard.books), shard.writer).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private Shard shardOf(Long auctionId) {
+        return shards[(int) Math.floorMod(auctionId, (long) shards.length)];
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (Shard shard : shards) {
+            shard.writer.shutdown();
+        }
+        events.shutdown();
+    }
+
+    private static class Shard {
+        private final Map<Long, BidBook> books = new HashMap<>();
+        private final ExecutorService writer;
+
+        private Shard(int index) {
+            this.writer = Executors.newSingleThreadExecutor(r -> new Thread(r, "bid-shard-" + index));
+        }
+    }
+}
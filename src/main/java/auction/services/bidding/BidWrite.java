@@ -0,0 +1,17 @@
+package auction.services.bidding;
+
+import auction.model.User;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Everything one accepted request has to persist: its bid rows in acceptance order (the last one is the new
+ * leader) and, for proxy bids, the bidder's new maximum.
+ */
+record BidWrite(Long auctionId, List<PendingBid> bids, BidBook.Proxy proxy, LocalDateTime bidTime) {
+
+    record PendingBid(User bidder, BigDecimal amount) {
+    }
+}
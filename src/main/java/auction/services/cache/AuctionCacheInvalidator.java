@@ -0,0 +1,98 @@
+package auction.services.cache;
+
+import auction.events.AuctionClosedEvent;
+import auction.events.AuctionRemovedEvent;
+import auction.events.AuctionUpdatedEvent;
+import auction.events.BidPlacedEvent;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.interceptor.CacheOperationInvocationContext;
+import org.springframework.cache.interceptor.CacheResolver;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Drops the cached auction, bid list and details view of exactly the auction a committed change touched. Entries of other
+ * auctions stay; anything missed, e.g. a change made by another node, ages out with the cache TTL.
+ * <p>
+ * A read that loaded the auction before the change committed could store its result after the eviction, so every
+ * eviction first bumps the auction's version, and the caches handed out as {@link #RESOLVER} never return a value
+ * whose load overlapped a bump. Cached methods use that resolver with {@code sync = true}, which routes their loads
+ * through {@link VersionedCache#get(Object, java.util.concurrent.Callable)}. A version is forgotten
+ * {@code auction.cache.version-ttl-ms} after the auction's last change; that has to exceed the cache TTL, so every
+ * entry loaded before the change has expired by then.
+ */
+@Component(AuctionCacheInvalidator.RESOLVER)
+public class AuctionCacheInvalidator implements CacheResolver {
+
+    public static final String RESOLVER = "auctionCacheResolver";
+    public static final String AUCTIONS = "auctions";
+    public static final String AUCTION_BIDS = "auctionBids";
+    public static final String AUCTION_DETAILS = "auctionDetails";
+
+    private final ConcurrentMap<Object, Long> versions;
+    private final Map<String, Cache> caches;
+
+    @Autowired
+    public AuctionCacheInvalidator(CacheManager cacheManager,
+                                   @Value("${auction.cache.version-ttl-ms:120000}") long versionTtlMs) {
+        this.versions = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(versionTtlMs))
+                .<Object, Long>build()
+                .asMap();
+        this.caches = Map.of(
+                AUCTIONS, versioned(cacheManager, AUCTIONS),
+                AUCTION_BIDS, versioned(cacheManager, AUCTION_BIDS),
+                AUCTION_DETAILS, versioned(cacheManager, AUCTION_DETAILS));
+    }
+
+    private Cache versioned(CacheManager cacheManager, String name) {
+        return new VersionedCache(cacheManager.getCache(name), versions);
+    }
+
+    @Override
+    public Collection<? extends Cache> resolveCaches(CacheOperationInvocationContext<?> context) {
+        return context.getOperation().getCacheNames().stream()
+                .map(name -> {
+                    Cache cache = caches.get(name);
+                    if (cache == null) {
+                        throw new IllegalArgumentException("Cache " + name + " is not an auction cache");
+                    }
+                    return cache;
+                })
+                .toList();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBidPlaced(BidPlacedEvent event) {
+        evict(event.auctionId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUpdated(AuctionUpdatedEvent event) {
+        evict(event.auctionId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onClosed(AuctionClosedEvent event) {
+        evict(event.auctionId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRemoved(AuctionRemovedEvent event) {
+        evict(event.auctionId());
+    }
+
+    private void evict(Long auctionId) {
+        versions.merge(auctionId, 1L, Long::sum);
+        caches.values().forEach(cache -> cache.evict(auctionId));
+    }
+}
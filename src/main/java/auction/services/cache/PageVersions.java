@@ -0,0 +1,63 @@
+package auction.services.cache;
+
+import auction.events.AuctionEvent;
+import auction.model.User;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Strong ETags for the auction pages. Every committed auction change takes the next value of a catalogue-wide
+ * sequence, which also becomes the changed auction's own sequence. The details tag is built from the auction's
+ * sequence and the listing tag from the catalogue sequence, so both can be checked without loading anything.
+ * Tags also carry the viewer, since logged-in users see a different page, the node's start time, since the
+ * sequences restart with the node, and a time bucket of {@code auction.etag.refresh-ms}, which bounds how long
+ * changes made by another node can go unnoticed. An auction's sequence is forgotten two buckets after its last
+ * change, once no tag carrying it can still be current.
+ */
+@Component
+public class PageVersions {
+
+    private final long epoch = System.currentTimeMillis();
+    private final AtomicLong catalogue = new AtomicLong();
+    private final Map<Long, Long> auctions;
+    private final long refreshMs;
+
+    @Autowired
+    public PageVersions(@Value("${auction.etag.refresh-ms:60000}") long refreshMs) {
+        this.refreshMs = refreshMs;
+        this.auctions = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(2 * refreshMs))
+                .<Long, Long>build()
+                .asMap();
+    }
+
+    public String auctionTag(Long auctionId, User viewer) {
+        return tag("a" + auctionId + "." + auctions.getOrDefault(auctionId, 0L), viewer);
+    }
+
+    public String catalogueTag(User viewer) {
+        return tag("c" + catalogue.get(), viewer);
+    }
+
+    /**
+     * Listeners are not ordered, so a page rendered while the other views are still applying the same change may
+     * get the new tag; the time bucket keeps such a page from being revalidated for longer than one bucket.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChange(AuctionEvent event) {
+        auctions.put(event.auctionId(), catalogue.incrementAndGet());
+    }
+
+    private String tag(String version, User viewer) {
+        String user = viewer == null ? "anon" : "u" + viewer.getId();
+        long bucket = System.currentTimeMillis() / refreshMs;
+        return "\"" + version + "-" + user + "-" + Long.toString(epoch, 36) + "-" + Long.toString(bucket, 36) + "\"";
+    }
+}
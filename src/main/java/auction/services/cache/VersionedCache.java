@@ -0,0 +1,107 @@
+package auction.services.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+
+/**
+ * A cache whose loads cannot outlive an eviction. Every value is stored together with the version its key had
+ * before the value was loaded, and evictions bump the version before evicting. A value that was loaded across an
+ * eviction therefore carries an older version than its key and is treated as a miss, whenever it was stored.
+ * Loads still go through the delegate's own single-flight loading; a caller that waited for another thread's load
+ * rejects its result the same way.
+ */
+class VersionedCache implements Cache {
+
+    private final Cache delegate;
+    private final Map<Object, Long> versions;
+
+    VersionedCache(Cache delegate, Map<Object, Long> versions) {
+        this.delegate = delegate;
+        this.versions = versions;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        while (true) {
+            boolean[] loadedHere = new boolean[1];
+            Versioned entry = delegate.get(key, () -> {
+                loadedHere[0] = true;
+                Long version = versions.get(key);
+                return new Versioned(valueLoader.call(), version);
+            });
+            // a value this call loaded itself already reflects every change made before the call
+            if (loadedHere[0] || isCurrent(key, entry)) {
+                return (T) entry.value();
+            }
+            delegate.evict(key);
+        }
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        ValueWrapper wrapper = delegate.get(key);
+        if (wrapper == null) {
+            return null;
+        }
+        Versioned entry = (Versioned) wrapper.get();
+        return isCurrent(key, entry) ? new SimpleValueWrapper(entry.value()) : null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper == null ? null : wrapper.get();
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        delegate.put(key, new Versioned(value, versions.get(key)));
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public void evict(Object key) {
+        delegate.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        return delegate.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        return delegate.invalidate();
+    }
+
+    private boolean isCurrent(Object key, Versioned entry) {
+        return Objects.equals(entry.version(), versions.get(key));
+    }
+
+    private record Versioned(Object value, Long version) {
+    }
+}
@@ -0,0 +1,151 @@
+package auction.services.expiry;
+
+import auction.model.Auction;
+import auction.repository.AuctionRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Closes every auction as soon as its end time passes. Active auctions wait in a delay queue ordered by end
+ * time; the queue is rebuilt from the database on startup and kept up to date by {@link #schedule} and
+ * {@link #cancel}. Entries left behind by an edited end time are recognised and skipped when they fire.
+ * Everything that comes due together is handed to the {@link ExpiryProcessor} as one set. When several nodes
+ * share the database only the node holding the lease for an auction's id range closes it, see
+ * {@link ExpiryLeaseManager}.
+ */
+@Component
+public class AuctionCloser {
+
+    private static final long RETRY_DELAY_MS = 1000;
+
+    private final Logger logger = LoggerFactory.getLogger(AuctionCloser.class);
+
+    private final AuctionRepository auctionRepository;
+    private final ExpiryProcessor expiryProcessor;
+    private final ExpiryLeaseManager leaseManager;
+    private final DelayQueue<Expiry> queue = new DelayQueue<>();
+    private final Map<Long, LocalDateTime> scheduled = new ConcurrentHashMap<>();
+    private final Thread worker;
+    private volatile boolean running = true;
+
+    @Autowired
+    public AuctionCloser(AuctionRepository auctionRepository, ExpiryProcessor expiryProcessor,
+                         ExpiryLeaseManager leaseManager) {
+        this.auctionRepository = auctionRepository;
+        this.expiryProcessor = expiryProcessor;
+        this.leaseManager = leaseManager;
+        this.worker = new Thread(this::run, "auction-closer");
+        this.worker.setDaemon(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        List<AuctionRepository.ExpiryView> active = auctionRepository.findExpiryViewsByStatusAndEndTimeAfter(
+                Auction.AuctionStatus.ACTIVE, LocalDateTime.now());
+        active.forEach(auction -> schedule(auction.getId(), auction.getEndTime()));
+        logger.info("Scheduled closing of " + active.size() + " active auctions");
+        worker.start();
+    }
+
+    public void schedule(Long auctionId, LocalDateTime endTime) {
+        scheduled.put(auctionId, endTime);
+        queue.add(new Expiry(auctionId, endTime, toMillis(endTime)));
+    }
+
+    public void cancel(Long auctionId) {
+        scheduled.remove(auctionId);
+    }
+
+    private void run() {
+        List<Expiry> due = new ArrayList<>();
+        while (running) {
+            try {
+                due.add(queue.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            queue.drainTo(due);
+            due.removeIf(expiry -> !expiry.endTime().equals(scheduled.get(expiry.auctionId())));
+            due.removeIf(this::ownedByAnotherNode);
+            due.removeIf(this::deferUnlessOwned);
+            close(due);
+            due.clear();
+        }
+    }
+
+    private void close(List<Expiry> due) {
+        if (due.isEmpty()) {
+            return;
+        }
+        try {
+            expiryProcessor.close(due.stream().map(Expiry::auctionId).toList());
+            due.forEach(expiry -> scheduled.remove(expiry.auctionId(), expiry.endTime()));
+        } catch (RuntimeException e) {
+            logger.error("Could not close " + due.size() + " expired auctions, retrying", e);
+            long retryAt = System.currentTimeMillis() + RETRY_DELAY_MS;
+            due.forEach(expiry -> queue.add(new Expiry(expiry.auctionId(), expiry.endTime(), retryAt)));
+        }
+    }
+
+    /**
+     * Auctions in ranges leased by another node are left to that node's sweep.
+     */
+    private boolean ownedByAnotherNode(Expiry expiry) {
+        if (!leaseManager.ownedByAnotherNode(expiry.auctionId())) {
+            return false;
+        }
+        scheduled.remove(expiry.auctionId(), expiry.endTime());
+        return true;
+    }
+
+    /**
+     * Auctions in ranges nobody holds right now, e.g. before the first renewal or after a failed one, stay queued
+     * until the range has an owner.
+     */
+    private boolean deferUnlessOwned(Expiry expiry) {
+        if (leaseManager.owns(expiry.auctionId())) {
+            return false;
+        }
+        queue.add(new Expiry(expiry.auctionId(), expiry.endTime(), System.currentTimeMillis() + RETRY_DELAY_MS));
+        return true;
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        worker.interrupt();
+    }
+
+    private record Expiry(Long auctionId, LocalDateTime endTime, long dueAtMillis) implements Delayed {
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(dueAtMillis - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(dueAtMillis, ((Expiry) other).dueAtMillis);
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package auction.services.expiry;
+
+import auction.model.ExpiryLease;
+import auction.model.ExpiryNode;
+import auction.repository.ExpiryLeaseRepository;
+import auction.repository.ExpiryNodeRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+
+/**
+ * Splits expiry work between application instances sharing one database. Auction ids are hashed into
+ * {@code auction.expiry.lease-ranges} ranges and every range is leased to exactly one node through the
+ * expiry_leases table. Nodes heartbeat into expiry_nodes and renew their leases on every tick, take over ranges
+ * whose owner stopped renewing, and hand back ranges above their fair share when new nodes join. The owner sweeps
+ * its ranges for expired auctions on a separate schedule, which also covers auctions created on other nodes; a long
+ * sweep never delays renewal, and every chunk of the sweep checks the lease is still held before closing anything.
+ * <p>
+ * Expiry is the only work split this way. Bid books, caches, the read model and the search index are still kept
+ * per node, so running the cluster profile does not make bidding or listings consistent across nodes.
+ */
+@Component
+public class ExpiryLeaseManager {
+
+    private final Logger logger = LoggerFactory.getLogger(ExpiryLeaseManager.class);
+
+    private final ExpiryLeaseRepository leaseRepository;
+    private final ExpiryNodeRepository nodeRepository;
+    private final ExpiryProcessor expiryProcessor;
+    private final TransactionTemplate transactionTemplate;
+    private final String nodeId;
+    private final int ranges;
+    private final long leaseTtlMs;
+    private volatile Ownership ownership = new Ownership(Set.of(), Set.of(), 0);
+
+    @Autowired
+    public ExpiryLeaseManager(ExpiryLeaseRepository leaseRepository, ExpiryNodeRepository nodeRepository,
+                              ExpiryProcessor expiryProcessor, PlatformTransactionManager transactionManager,
+                              @Value("${auction.node-id:}") String nodeId,
+                              @Value("${auction.expiry.lease-ranges:8}") int ranges,
+                              @Value("${auction.expiry.lease-ttl-ms:15000}") long leaseTtlMs) {
+        this.leaseRepository = leaseRepository;
+        this.nodeRepository = nodeRepository;
+        this.expiryProcessor = expiryProcessor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.nodeId = nodeId.isEmpty() ? UUID.randomUUID().toString() : nodeId;
+        this.ranges = ranges;
+        this.leaseTtlMs = leaseTtlMs;
+    }
+
+    public boolean owns(Long auctionId) {
+        Ownership current = ownership;
+        return System.currentTimeMillis() < current.validUntilMillis()
+                && current.ranges().contains(rangeOf(auctionId));
+    }
+
+    /**
+     * Whether another node held the lease of the auction's range at the last renewal. Free ranges and ranges whose
+     * state is unknown because renewal failed are nobody else's yet.
+     */
+    public boolean ownedByAnotherNode(Long auctionId) {
+        Ownership current = ownership;
+        return System.currentTimeMillis() < current.validUntilMillis()
+                && current.othersRanges().contains(rangeOf(auctionId));
+    }
+
+    @Scheduled(fixedDelayString = "${auction.expiry.lease-renew-ms:5000}")
+    public void renewLeases() {
+        try {
+            renew();
+        } catch (RuntimeException e) {
+            ownership = new Ownership(Set.of(), Set.of(), 0);
+            logger.error("Could not renew expiry leases of node " + nodeId, e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${auction.expiry.sweep-ms:5000}")
+    public void sweep() {
+        Ownership current = ownership;
+        if (System.currentTimeMillis() < current.validUntilMillis() && !current.ranges().isEmpty()) {
+            expiryProcessor.closeExpired(current.ranges(), ranges, this::owns);
+        }
+    }
+
+    private void renew() {
+        createMissingLeases();
+        long renewedAt = System.currentTimeMillis();
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime expiresAt = now.plusNanos(leaseTtlMs * 1_000_000);
+        nodeRepository.save(new ExpiryNode(nodeId, now));
+        long liveNodes = Math.max(1, nodeRepository.countByHeartbeatAtAfter(now.minusNanos(leaseTtlMs * 1_000_000)));
+        int fairShare = (int) ((ranges + liveNodes - 1) / liveNodes);
+        List<ExpiryLease> leases = leaseRepository.findAll();
+
+        TreeSet<Integer> owned = new TreeSet<>();
+        for (ExpiryLease lease : leases) {
+            if (nodeId.equals(lease.getOwner()) && acquire(lease.getRangeId(), expiresAt, now)) {
+                owned.add(lease.getRangeId());
+            }
+        }
+        while (owned.size() > fairShare) {
+            Integer surplus = owned.pollLast();
+            transactionTemplate.executeWithoutResult(status -> leaseRepository.release(surplus, nodeId));
+        }
+        for (ExpiryLease lease : leases) {
+            if (owned.size() >= fairShare) {
+                break;
+            }
+            boolean free = lease.getOwner() == null || !lease.getExpiresAt().isAfter(now);
+            if (free && acquire(lease.getRangeId(), expiresAt, now)) {
+                owned.add(lease.getRangeId());
+            }
+        }
+
+        Set<Integer> others = new TreeSet<>();
+        for (ExpiryLease lease : leases) {
+            if (lease.getOwner() != null && !nodeId.equals(lease.getOwner()) && lease.getExpiresAt().isAfter(now)
+                    && !owned.contains(lease.getRangeId())) {
+                others.add(lease.getRangeId());
+            }
+        }
+
+        if (!owned.equals(ownership.ranges())) {
+            logger.info("Node " + nodeId + " now owns expiry ranges " + owned + " of " + ranges);
+        }
+        ownership = new Ownership(Set.copyOf(owned), Set.copyOf(others), renewedAt + leaseTtlMs);
+    }
+
+    private boolean acquire(Integer rangeId, LocalDateTime expiresAt, LocalDateTime now) {
+        Integer updated = transactionTemplate.execute(status -> leaseRepository.acquire(rangeId, nodeId, expiresAt, now));
+        return Objects.equals(updated, 1);
+    }
+
+    private void createMissingLeases() {
+        if (leaseRepository.count() >= ranges) {
+            return;
+        }
+        for (int rangeId = 0; rangeId < ranges; rangeId++) {
+            if (!leaseRepository.existsById(rangeId)) {
+                try {
+                    leaseRepository.save(new ExpiryLease(rangeId, null, null));
+                } catch (DataIntegrityViolationException e) {
+                    // another node created it in the meantime
+                }
+            }
+        }
+    }
+
+    private int rangeOf(Long auctionId) {
+        return (int) Math.floorMod(auctionId, (long) ranges);
+    }
+
+    @PreDestroy
+    public void releaseAll() {
+        Set<Integer> owned = ownership.ranges();
+        ownership = new Ownership(Set.of(), Set.of(), 0);
+        try {
+            owned.forEach(rangeId ->
+                    transactionTemplate.executeWithoutResult(status -> leaseRepository.release(rangeId, nodeId)));
+            nodeRepository.deleteById(nodeId);
+        } catch (RuntimeException e) {
+            logger.warn("Could not release expiry leases of node " + nodeId + ", they will time out", e);
+        }
+    }
+
+    private record Ownership(Set<Integer> ranges, Set<Integer> othersRanges, long validUntilMillis) {
+    }
+}
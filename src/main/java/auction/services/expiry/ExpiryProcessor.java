@@ -0,0 +1,149 @@
+package auction.services.expiry;
+
+import auction.events.AuctionClosedEvent;
+import auction.model.Auction;
+import auction.repository.AuctionRepository;
+import auction.services.bidding.BidEngine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+/**
+ * Finishes expired auctions in fixed-size chunks. Every chunk locks the auctions that are still due and closes
+ * them with a single bulk UPDATE that also copies the denormalized leading bidder into the winner column;
+ * chunks run in parallel on a bounded pool.
+ */
+@Component
+public class ExpiryProcessor {
+
+    private final Logger logger = LoggerFactory.getLogger(ExpiryProcessor.class);
+
+    private final AuctionRepository auctionRepository;
+    private final BidEngine bidEngine;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final ThreadPoolExecutor pool;
+    private final Counter closedCounter;
+    private final Timer chunkTimer;
+
+    @Autowired
+    public ExpiryProcessor(AuctionRepository auctionRepository, BidEngine bidEngine, ApplicationEventPublisher eventPublisher,
+                           PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                           @Value("${auction.expiry.chunk-size:500}") int chunkSize,
+                           @Value("${auction.expiry.threads:4}") int threads) {
+        this.auctionRepository = auctionRepository;
+        this.bidEngine = bidEngine;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.pool = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(threads * 2),
+                r -> new Thread(r, "auction-expiry-" + threadIndex.incrementAndGet()),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        this.closedCounter = Counter.builder("auction.expiry.closed")
+                .description("Auctions finished by the expiry pipeline")
+                .register(meterRegistry);
+        this.chunkTimer = Timer.builder("auction.expiry.chunk")
+                .description("Time spent closing one chunk of expired auctions")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Closes the given auctions if they are still active and past their end time. Returns how many were closed.
+     */
+    public int close(List<Long> auctionIds) {
+        long start = System.nanoTime();
+        List<CompletableFuture<Integer>> chunks = new ArrayList<>();
+        for (int from = 0; from < auctionIds.size(); from += chunkSize) {
+            List<Long> chunk = auctionIds.subList(from, Math.min(from + chunkSize, auctionIds.size()));
+            chunks.add(CompletableFuture.supplyAsync(() -> closeChunk(chunk), pool));
+        }
+        int closed = chunks.stream().mapToInt(CompletableFuture::join).sum();
+        report(closed, System.nanoTime() - start);
+        return closed;
+    }
+
+    /**
+     * Pages through every auction in the given id ranges that is past its end time but still active, e.g. the
+     * ones that expired while no node was running or that were created on another node. Leases can be lost while
+     * the sweep runs, so every chunk only closes the auctions {@code stillOwned} accepts right before it starts.
+     */
+    public int closeExpired(Set<Integer> ownedRanges, int ranges, Predicate<Long> stillOwned) {
+        long start = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> buckets = ownedRanges.stream().map(Integer::longValue).toList();
+        List<CompletableFuture<Integer>> chunks = new ArrayList<>();
+        Long afterId = 0L;
+        List<Long> page;
+        do {
+            page = auctionRepository.findExpiredIds(Auction.AuctionStatus.ACTIVE, now, afterId,
+                    ranges, buckets, PageRequest.of(0, chunkSize));
+            if (!page.isEmpty()) {
+                List<Long> chunk = page;
+                chunks.add(CompletableFuture.supplyAsync(() -> closeChunk(chunk.stream().filter(stillOwned).toList()), pool));
+                afterId = page.get(page.size() - 1);
+            }
+        } while (page.size() == chunkSize);
+        int closed = chunks.stream().mapToInt(CompletableFuture::join).sum();
+        report(closed, System.nanoTime() - start);
+        return closed;
+    }
+
+    private int closeChunk(List<Long> chunk) {
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+        return chunkTimer.record(() -> {
+            bidEngine.evictAll(chunk);
+            // only auctions this UPDATE closed are announced, ones whose end time was extended stay listed
+            List<Long> closed = transactionTemplate.execute(status -> {
+                LocalDateTime now = LocalDateTime.now();
+                List<Long> expired = auctionRepository.lockExpired(chunk, now, Auction.AuctionStatus.ACTIVE);
+                if (!expired.isEmpty()) {
+                    auctionRepository.finishExpired(expired, now, Auction.AuctionStatus.ACTIVE,
+                            Auction.AuctionStatus.FINISHED);
+                }
+                return expired;
+            });
+            closedCounter.increment(closed.size());
+            closed.forEach(id -> eventPublisher.publishEvent(new AuctionClosedEvent(id)));
+            return closed.size();
+        });
+    }
+
+    private void report(int closed, long nanos) {
+        if (closed == 0) {
+            return;
+        }
+        double seconds = nanos / 1_000_000_000.0;
+        logger.info(String.format("Closed %d expired auctions in %.0f ms (%.0f/s)", closed, seconds * 1000, closed / seconds));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+}
@@ -1,14 +1,40 @@
 package auction.services.impl;
 
+import auction.events.AuctionClosedEvent;
+import auction.events.AuctionCreatedEvent;
+import auction.events.AuctionRemovedEvent;
+import auction.events.AuctionUpdatedEvent;
+import auction.exceptions.AuctionNotFoundException;
 import auction.model.Auction;
+import auction.model.AuctionCard;
+import auction.model.AuctionDetails;
+import auction.model.AuctionDetailsRow;
 import auction.model.Bid;
+import auction.model.BidHistoryEntry;
+import auction.model.BidLine;
 import auction.model.User;
 import auction.repository.AuctionRepository;
 import auction.repository.BidRepository;
+import auction.repository.listing.AuctionSort;
+import auction.repository.listing.ListingCursor;
+import auction.services.AuctionPage;
 import auction.services.IAuctionService;
+import auction.services.bidding.BidEngine;
+import auction.services.bidding.OptimisticRetry;
+import auction.services.cache.AuctionCacheInvalidator;
+import auction.services.expiry.AuctionCloser;
+import auction.services.readmodel.ActiveAuctionReadModel;
+import auction.services.readmodel.CategoryFacet;
+import auction.services.search.AuctionSearchIndex;
+import auction.services.search.AutocompleteTrie;
+import auction.services.search.Suggestion;
 import auction.validators.AuctionValidator;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.BeanPropertyBindingResult;
@@ -18,108 +44,209 @@ import org.springframework.validation.ValidationUtils;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class AuctionService implements IAuctionService {
 
+    private static final int DEFAULT_SUGGESTIONS = 8;
+
     private final AuctionRepository auctionRepository;
     private final BidRepository bidRepository;
     private final AuctionValidator auctionValidator;
+    private final BidEngine bidEngine;
+    private final OptimisticRetry optimisticRetry;
+    private final AuctionCloser auctionCloser;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AuctionSearchIndex searchIndex;
+    private final AutocompleteTrie autocompleteTrie;
+    private final ActiveAuctionReadModel readModel;
+    private final int defaultPageSize;
+    private final int maxPageSize;
+    private final int maxSearchResults;
+    private final int detailsBids;
 
     @Autowired
-    public AuctionService(AuctionRepository auctionRepository, BidRepository bidRepository, AuctionValidator auctionValidator) {
+    public AuctionService(AuctionRepository auctionRepository, BidRepository bidRepository, AuctionValidator auctionValidator,
+                          BidEngine bidEngine, OptimisticRetry optimisticRetry, AuctionCloser auctionCloser,
+                          ApplicationEventPublisher eventPublisher, AuctionSearchIndex searchIndex,
+                          AutocompleteTrie autocompleteTrie, ActiveAuctionReadModel readModel,
+                          @Value("${auction.listing.page-size:20}") int defaultPageSize,
+                          @Value("${auction.listing.max-page-size:100}") int maxPageSize,
+                          @Value("${auction.search.max-results:1000}") int maxSearchResults,
+                          @Value("${auction.details.bids:20}") int detailsBids) {
         this.auctionRepository = auctionRepository;
         this.bidRepository = bidRepository;
         this.auctionValidator = auctionValidator;
+        this.bidEngine = bidEngine;
+        this.optimisticRetry = optimisticRetry;
+        this.auctionCloser = auctionCloser;
+        this.eventPublisher = eventPublisher;
+        this.searchIndex = searchIndex;
+        this.autocompleteTrie = autocompleteTrie;
+        this.readModel = readModel;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+        this.maxSearchResults = maxSearchResults;
+        this.detailsBids = detailsBids;
     }
 
     @Override
-    public List<Auction> getAllActiveAuctions() {
-        return auctionRepository.findByStatus(Auction.AuctionStatus.ACTIVE);
+    public AuctionPage getActiveAuctionsPage(String category, String search, String sort, String cursor, Integer size) {
+        AuctionSort auctionSort = AuctionSort.fromParam(sort);
+        int pageSize = size == null ? defaultPageSize : Math.max(1, Math.min(size, maxPageSize));
+        List<Long> matches = null;
+        if (search != null && !search.isEmpty()) {
+            matches = searchIndex.search(search, category, maxSearchResults);
+            if (matches.isEmpty()) {
+                return new AuctionPage(List.of(), null);
+            }
+            if (auctionSort == AuctionSort.DEFAULT) {
+                return getRelevancePage(matches, cursor, pageSize);
+            }
+        }
+        ListingCursor after = ListingCursor.decode(auctionSort, cursor);
+        Collection<Long> filter = matches == null ? null : new HashSet<>(matches);
+        List<AuctionCard> auctions = readModel.isReady()
+                ? readModel.findPage(category, filter, auctionSort, after, pageSize + 1)
+                : auctionRepository.findActivePage(category, filter, auctionSort, after, pageSize + 1);
+        if (auctions.size() <= pageSize) {
+            return new AuctionPage(auctions, null);
+        }
+        List<AuctionCard> page = auctions.subList(0, pageSize);
+        return new AuctionPage(page, ListingCursor.after(auctionSort, page.get(pageSize - 1)).encode());
+    }
+
+    /**
+     * Search results without an explicit sort are shown best match first, in the order of the search index.
+     */
+    private AuctionPage getRelevancePage(List<Long> ranked, String cursor, int pageSize) {
+        ListingCursor position = ListingCursor.decode(AuctionSort.DEFAULT, cursor);
+        int from = position == null ? 0 : Math.max(0, Math.min(position.offset(), ranked.size()));
+        int to = Math.min(from + pageSize, ranked.size());
+        List<Long> ids = ranked.subList(from, to);
+        List<AuctionCard> page;
+        if (readModel.isReady()) {
+            page = readModel.findAll(ids);
+        } else {
+            Map<Long, AuctionCard> cards = auctionRepository.findCardsByIdInAndStatus(ids, Auction.AuctionStatus.ACTIVE)
+                    .stream().collect(Collectors.toMap(AuctionCard::getId, Function.identity()));
+            page = ids.stream().map(cards::get).filter(Objects::nonNull).toList();
+        }
+        return new AuctionPage(page, to < ranked.size() ? ListingCursor.atOffset(to).encode() : null);
     }
 
     @Override
-    public List<Auction> getActiveAuctionsWithUserBids(User user) {
-        return auctionRepository.findAuctionsWithUserBidsByStatus(user, Auction.AuctionStatus.ACTIVE);
+    public List<AuctionCard> getActiveAuctionsWithUserBids(User user) {
+        return auctionRepository.findCardsWithUserBidsByStatus(user, Auction.AuctionStatus.ACTIVE);
     }
 
     @Override
+    @Cacheable(cacheNames = AuctionCacheInvalidator.AUCTIONS, key = "#id", sync = true,
+            cacheResolver = AuctionCacheInvalidator.RESOLVER)
     public Auction getAuctionById(Long id) {
         return auctionRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Auction not found with id: " + id));
+                .orElseThrow(() -> new AuctionNotFoundException("Auction not found with id: " + id));
     }
 
     @Override
-    public List<Auction> getUserAuctionsByCategory(User user, String category) {
+    public List<AuctionCard> getUserAuctionsByCategory(User user, String category) {
         return getActiveAuctionsWithUserBids(user).stream()
                 .filter(auction -> auction.getCategory().equals(category))
                 .collect(Collectors.toList());
     }
 
     @Override
-    public List<Auction> searchUserAuctions(User user, String search) {
+    public List<AuctionCard> searchUserAuctions(User user, String search) {
+        List<Long> ranked = searchIndex.search(search, null, Integer.MAX_VALUE);
+        Map<Long, Integer> rank = new HashMap<>();
+        for (int i = 0; i < ranked.size(); i++) {
+            rank.put(ranked.get(i), i);
+        }
         return getActiveAuctionsWithUserBids(user).stream()
-                .filter(auction -> auction.getTitle().toLowerCase().contains(search.toLowerCase()))
+                .filter(auction -> rank.containsKey(auction.getId()))
+                .sorted(Comparator.comparing(auction -> rank.get(auction.getId())))
                 .collect(Collectors.toList());
     }
 
     @Override
-    @Transactional
-    public void placeBid(Long auctionId, User bidder, BigDecimal amount) {
-        Auction auction = getAuctionById(auctionId);
-
-        if (auction.getStatus() != Auction.AuctionStatus.ACTIVE || auction.getEndTime().isBefore(LocalDateTime.now())) {
-            throw new RuntimeException("This auction is not active");
-        }
-
-        if (amount.compareTo(auction.getStartingPrice()) < 0) {
-            throw new RuntimeException("Bid amount must be greater than or equal to the starting price");
-        }
+    public List<Suggestion> autocomplete(String prefix, Integer limit) {
+        return autocompleteTrie.complete(prefix, limit == null ? DEFAULT_SUGGESTIONS : Math.max(1, limit));
+    }
 
-        List<Bid> existingBids = getBidsForAuction(auctionId);
-        if (!existingBids.isEmpty() && amount.compareTo(existingBids.get(0).getAmount()) <= 0) {
-            throw new RuntimeException("Bid amount must be greater than the current highest bid");
-        }
+    @Override
+    public List<CategoryFacet> getCategoryFacets(List<String> categories, String allCategories) {
+        return readModel.findFacets(categories, allCategories);
+    }
 
-        Bid newBid = Bid.builder()
-                .auction(auction)
-                .bidder(bidder)
-                .amount(amount)
-                .bidTime(LocalDateTime.now())
-                .build();
+    /**
+     * Facets over the active auctions the user has bid on, which are few enough to count on every request.
+     */
+    @Override
+    public List<CategoryFacet> getUserCategoryFacets(User user, List<String> categories, String allCategories) {
+        List<AuctionCard> auctions = getActiveAuctionsWithUserBids(user);
+        return categories.stream()
+                .map(category -> facetOf(category, category.equals(allCategories) ? auctions : auctions.stream()
+                        .filter(auction -> category.equals(auction.getCategory()))
+                        .toList()))
+                .toList();
+    }
 
-        bidRepository.save(newBid);
-        auction.getBids().add(newBid);
-        auctionRepository.save(auction);
+    private static CategoryFacet facetOf(String category, List<AuctionCard> auctions) {
+        return new CategoryFacet(category, auctions.size(),
+                auctions.stream().map(AuctionCard::getCurrentBid).min(BigDecimal::compareTo).orElse(null),
+                auctions.stream().map(AuctionCard::getCurrentBid).max(BigDecimal::compareTo).orElse(null));
     }
 
     @Override
-    public List<Bid> getBidsForAuction(Long auctionId) {
-        return bidRepository.findByAuctionIdOrderByAmountDesc(auctionId);
+    public void placeBid(Long auctionId, User bidder, BigDecimal amount) {
+        awaitCommit(bidEngine.placeBid(auctionId, bidder, amount));
     }
 
     @Override
-    public BigDecimal getSuggestedBid(Long auctionId) {
-        Auction auction = getAuctionById(auctionId);
-        List<Bid> bids = getBidsForAuction(auctionId);
+    public void placeProxyBid(Long auctionId, User bidder, BigDecimal maxAmount) {
+        awaitCommit(bidEngine.placeProxyBid(auctionId, bidder, maxAmount));
+    }
 
-        if (bids.isEmpty()) {
-            return auction.getStartingPrice().add(BigDecimal.ONE);
-        } else {
-            return bids.get(0).getAmount().add(BigDecimal.ONE);
+    private void awaitCommit(CompletableFuture<Void> write) {
+        try {
+            write.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof OptimisticLockingFailureException) {
+                throw new IllegalStateException("A higher bid was placed in the meantime, please check the current bid", e);
+            }
+            throw new RuntimeException("Your bid could not be saved, please try again", e);
         }
     }
 
     @Override
-    public List<Auction> getAuctionsByCategory(String category) {
-        return auctionRepository.findByStatusAndCategory(Auction.AuctionStatus.ACTIVE, category);
+    @Cacheable(cacheNames = AuctionCacheInvalidator.AUCTION_BIDS, key = "#auctionId", sync = true,
+            cacheResolver = AuctionCacheInvalidator.RESOLVER)
+    public List<Bid> getBidsForAuction(Long auctionId) {
+        return bidRepository.findByAuctionIdOrderByAmountDesc(auctionId);
     }
 
     @Override
-    public List<Auction> searchAuctions(String search) {
-        return auctionRepository.findByStatusAndTitleContainingIgnoreCase(Auction.AuctionStatus.ACTIVE, search);
+    @Cacheable(cacheNames = AuctionCacheInvalidator.AUCTION_DETAILS, key = "#id", sync = true,
+            cacheResolver = AuctionCacheInvalidator.RESOLVER)
+    public AuctionDetails getAuctionDetails(Long id) {
+        List<AuctionDetailsRow> rows = auctionRepository.findDetailsRows(id, PageRequest.of(0, detailsBids));
+        if (rows.isEmpty()) {
+            throw new AuctionNotFoundException("Auction not found with id: " + id);
+        }
+        return AuctionDetails.of(rows, BidEngine.BID_INCREMENT);
     }
 
     @Override
@@ -133,6 +260,8 @@ public class AuctionService implements IAuctionService {
         auction.setStartTime(LocalDateTime.now(ZoneId.of("Europe/Warsaw")));
         auction.setStatus(Auction.AuctionStatus.ACTIVE);
         auctionRepository.save(auction);
+        auctionCloser.schedule(auction.getId(), auction.getEndTime());
+        eventPublisher.publishEvent(new AuctionCreatedEvent(AuctionCard.of(auction)));
     }
 
     @Override
@@ -141,105 +270,131 @@ public class AuctionService implements IAuctionService {
     }
 
     @Override
-    @Transactional
     public void buyNow(Long auctionId, User buyer) {
-        Auction auction = auctionRepository.findById(auctionId)
-                .orElseThrow(() -> new RuntimeException("Auction not found"));
+        Auction current = auctionRepository.findById(auctionId)
+                .orElseThrow(() -> new AuctionNotFoundException("Auction not found"));
 
-        if (auction.getStatus() != Auction.AuctionStatus.ACTIVE) {
-            throw new RuntimeException("This auction is not active");
+        if (current.getStatus() != Auction.AuctionStatus.ACTIVE || !bidEngine.close(auctionId)) {
+            throw new IllegalStateException("This auction is not active");
         }
 
-        auction.setStatus(Auction.AuctionStatus.FINISHED);
-        auction.setWinner(buyer);
-        auction.setEndTime(LocalDateTime.now());
-
-        Bid buyNowBid = Bid.builder()
-                .auction(auction)
-                .bidder(buyer)
-                .amount(auction.getBuyNowPrice())
-                .bidTime(LocalDateTime.now())
-                .build();
-
-        bidRepository.save(buyNowBid);
-        auction.getBids().add(buyNowBid);
-        auctionRepository.save(auction);
-    }
-
-    @Scheduled(fixedRate = 60000) // Run every minute
-    @Transactional
-    public void closeExpiredAuctions() {
-        List<Auction> expiredAuctions = auctionRepository.findByStatusAndEndTimeBefore(
-                Auction.AuctionStatus.ACTIVE, LocalDateTime.now());
-
-        for (Auction auction : expiredAuctions) {
-            auction.setStatus(Auction.AuctionStatus.FINISHED);
-            if (!auction.getBids().isEmpty()) {
-                Bid winningBid = auction.getBids().stream()
-                        .max((b1, b2) -> b1.getAmount().compareTo(b2.getAmount()))
-                        .orElseThrow(() -> new RuntimeException("No winning bid found"));
-                auction.setWinner(winningBid.getBidder());
-            }
-            auctionRepository.save(auction);
+        try {
+            optimisticRetry.run(() -> {
+                Auction auction = getAuctionById(auctionId);
+                auction.setStatus(Auction.AuctionStatus.FINISHED);
+                auction.setWinner(buyer);
+                auction.setEndTime(LocalDateTime.now());
+
+                Bid buyNowBid = Bid.builder()
+                        .auction(auction)
+                        .bidder(buyer)
+                        .amount(auction.getBuyNowPrice())
+                        .bidTime(LocalDateTime.now())
+                        .build();
+
+                bidRepository.save(buyNowBid);
+                auction.recordBid(buyer, buyNowBid.getAmount());
+            });
+        } catch (RuntimeException e) {
+            // the book was closed for the purchase, the next bid reloads it from the still active auction
+            bidEngine.evict(auctionId);
+            throw e;
         }
+        auctionCloser.cancel(auctionId);
+        eventPublisher.publishEvent(new AuctionClosedEvent(auctionId));
     }
 
     @Override
-    public List<Auction> getUserPurchases(User user) {
-        return auctionRepository.findByWinnerAndStatus(user, Auction.AuctionStatus.FINISHED);
+    public List<AuctionCard> getUserPurchases(User user) {
+        return auctionRepository.findCardsByWinnerAndStatus(user, Auction.AuctionStatus.FINISHED);
     }
 
     @Override
-    public List<Auction> getAuctionsBySeller(User seller) {
-        return auctionRepository.findBySeller(seller);
+    public List<AuctionCard> getAuctionsBySeller(User seller) {
+        return auctionRepository.findCardsBySeller(seller);
     }
 
     @Override
     public void updateAuction(Long id, Auction updatedAuction, User user) {
-        Auction existingAuction = auctionRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Auction not found"));
+        Auction saved = optimisticRetry.execute(() -> {
+            Auction existingAuction = auctionRepository.findById(id)
+                    .orElseThrow(() -> new AuctionNotFoundException("Auction not found"));
 
-        if (!existingAuction.getSeller().getId().equals(user.getId()) && user.getRole() != User.Role.ADMIN) {
-            throw new RuntimeException("You don't have permission to edit this auction");
-        }
+            if (!existingAuction.getSeller().getId().equals(user.getId()) && user.getRole() != User.Role.ADMIN) {
+                throw new RuntimeException("You don't have permission to edit this auction");
+            }
 
-        Errors errors = new BeanPropertyBindingResult(updatedAuction, "auction");
+            Errors errors = new BeanPropertyBindingResult(updatedAuction, "auction");
 
-        if (errors.hasErrors()) {
-            throw new IllegalArgumentException("Invalid auction data: " + errors.getAllErrors());
-        }
+            if (errors.hasErrors()) {
+                throw new IllegalArgumentException("Invalid auction data: " + errors.getAllErrors());
+            }
 
-        existingAuction.setTitle(updatedAuction.getTitle());
-        existingAuction.setDescription(updatedAuction.getDescription());
-        existingAuction.setBuyNowPrice(updatedAuction.getBuyNowPrice());
-        existingAuction.setCategory(updatedAuction.getCategory());
-        existingAuction.setEndTime(updatedAuction.getEndTime());
+            existingAuction.setTitle(updatedAuction.getTitle());
+            existingAuction.setDescription(updatedAuction.getDescription());
+            existingAuction.setBuyNowPrice(updatedAuction.getBuyNowPrice());
+            existingAuction.setCategory(updatedAuction.getCategory());
+            existingAuction.setEndTime(updatedAuction.getEndTime());
 
-        ValidationUtils.invokeValidator(auctionValidator, existingAuction, errors);
+            ValidationUtils.invokeValidator(auctionValidator, existingAuction, errors);
 
-        auctionRepository.save(existingAuction);
+            return auctionRepository.save(existingAuction);
+        });
+        bidEngine.evict(id);
+        if (saved.getStatus() == Auction.AuctionStatus.ACTIVE) {
+            auctionCloser.schedule(id, saved.getEndTime());
+        }
+        eventPublisher.publishEvent(new AuctionUpdatedEvent(AuctionCard.of(saved)));
     }
 
     @Override
     @Transactional
     public void removeAuction(Long id, User user) {
         Auction auction = auctionRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Auction not found"));
+                .orElseThrow(() -> new AuctionNotFoundException("Auction not found"));
 
         if (user.getRole() != User.Role.ADMIN && !auction.getSeller().getId().equals(user.getId())) {
             throw new RuntimeException("You don't have permission to remove this auction");
         }
 
-        if (user.getRole() != User.Role.ADMIN && !auction.getBids().isEmpty()) {
+        if (user.getRole() != User.Role.ADMIN && auction.getBidCount() > 0) {
             throw new RuntimeException("Cannot remove auction with existing bids");
         }
 
         auction.setStatus(Auction.AuctionStatus.REMOVED);
         auctionRepository.save(auction);
+        bidEngine.evict(id);
+        auctionCloser.cancel(id);
+        eventPublisher.publishEvent(new AuctionRemovedEvent(id));
+    }
+
+    @Override
+    public List<AuctionCard> getArchivedAuctions() {
+        return auctionRepository.findCardsByStatusIn(List.of(Auction.AuctionStatus.FINISHED, Auction.AuctionStatus.REMOVED));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void forEachArchivedAuction(Consumer<AuctionCard> consumer) {
+        try (Stream<AuctionCard> auctions = auctionRepository.streamCardsByStatusIn(
+                List.of(Auction.AuctionStatus.FINISHED, Auction.AuctionStatus.REMOVED))) {
+            auctions.forEach(consumer);
+        }
     }
 
     @Override
-    public List<Auction> getArchivedAuctions() {
-        return auctionRepository.findByStatusIn(List.of(Auction.AuctionStatus.FINISHED, Auction.AuctionStatus.REMOVED));
+    @Transactional(readOnly = true)
+    public void forEachBidOfAuction(Long auctionId, Consumer<BidLine> consumer) {
+        try (Stream<BidLine> bids = bidRepository.streamLinesByAuctionId(auctionId)) {
+            bids.forEach(consumer);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void forEachBidOfUser(User user, Consumer<BidHistoryEntry> consumer) {
+        try (Stream<BidHistoryEntry> bids = bidRepository.streamHistoryByBidderId(user.getId())) {
+            bids.forEach(consumer);
+        }
     }
 }
\ No newline at end of file
@@ -7,7 +7,7 @@ import jakarta.servlet.http.HttpSession;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.util.DigestUtils;
-import auction.dao.impl.spring.data.UserDAO;
+import auction.dao.IUserDAO;
 
 import java.util.HashSet;
 import java.util.Optional;
@@ -16,12 +16,12 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class AuthenticationService implements IAuthenticationService {
 
-    private final UserDAO userDAO;
+    private final IUserDAO userDAO;
     private final HttpSession httpSession;
 
     @Override
     public void login(String login, String password) {
-        Optional<User> user = this.userDAO.findByLogin(login);
+        Optional<User> user = this.userDAO.getByLogin(login);
         if(user.isPresent() &&
                 DigestUtils.md5DigestAsHex(password.getBytes()).equals(user.get().getPassword())) {
             httpSession.setAttribute(SessionConstants.USER_KEY, user.get());
@@ -46,7 +46,7 @@ public class AuthenticationService implements IAuthenticationService {
 
     @Override
     public boolean register(User user) {
-        if (userDAO.findByLogin(user.getLogin()).isPresent()) {
+        if (userDAO.getByLogin(user.getLogin()).isPresent()) {
             this.httpSession.setAttribute("loginInfo", "Login already exists");
             return false;
         }
@@ -0,0 +1,80 @@
+package auction.services.live;
+
+import auction.events.AuctionClosedEvent;
+import auction.events.AuctionRemovedEvent;
+import auction.events.BidPlacedEvent;
+import auction.services.bidding.BidEngine;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Map;
+
+/**
+ * Streams the bids and the closing of an auction to its open details pages, see {@link StreamHub}.
+ */
+@Component
+public class AuctionStreamHub {
+
+    private static final String BID = "bid";
+    private static final String CLOSED = "closed";
+
+    private final StreamHub<Long> hub;
+
+    @Autowired
+    public AuctionStreamHub(ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                            @Value("${auction.live.threads:2}") int threads,
+                            @Value("${auction.live.buffer-size:16}") int bufferSize,
+                            @Value("${auction.live.timeout-ms:1800000}") long timeoutMs,
+                            @Value("${auction.live.write-timeout-ms:10000}") long writeTimeoutMs) {
+        this.hub = new StreamHub<>("auction-live", "bid streams of auction details pages", objectMapper,
+                meterRegistry, threads, bufferSize, timeoutMs, writeTimeoutMs);
+    }
+
+    public SseEmitter subscribe(Long auctionId) {
+        return hub.subscribe(auctionId);
+    }
+
+    /**
+     * A stream for an auction that is already over: it only says so and ends.
+     */
+    public SseEmitter closed() {
+        return hub.single(CLOSED, Map.of());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBidPlaced(BidPlacedEvent event) {
+        if (!hub.hasSubscribers(event.auctionId())) {
+            return;
+        }
+        BidUpdate update = new BidUpdate(event.currentBid(), event.currentBid().add(BidEngine.BID_INCREMENT),
+                event.bidCount(), event.bids());
+        hub.publish(event.auctionId(), BID, update, false);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onClosed(AuctionClosedEvent event) {
+        hub.publish(event.auctionId(), CLOSED, Map.of(), true);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRemoved(AuctionRemovedEvent event) {
+        hub.publish(event.auctionId(), CLOSED, Map.of(), true);
+    }
+
+    @Scheduled(fixedDelayString = "${auction.live.heartbeat-ms:20000}")
+    public void heartbeat() {
+        hub.heartbeat();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hub.shutdown();
+    }
+}
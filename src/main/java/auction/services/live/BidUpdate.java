@@ -0,0 +1,12 @@
+package auction.services.live;
+
+import auction.model.BidLine;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * What a details page needs to patch itself after a bid: the new price, the next suggested bid and the new bids.
+ */
+public record BidUpdate(BigDecimal currentBid, BigDecimal suggestedBid, int bidCount, List<BidLine> bids) {
+}
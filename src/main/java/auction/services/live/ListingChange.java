@@ -0,0 +1,23 @@
+package auction.services.live;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.math.BigDecimal;
+
+/**
+ * What happened to one auction on the listing since the last batch. Only the latest change of an auction is
+ * kept; price and bid count are set for bids and edits.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ListingChange(Long id, String change, BigDecimal currentBid, Integer bidCount) {
+
+    public static final String ADDED = "added";
+    public static final String UPDATED = "updated";
+    public static final String BID = "bid";
+    public static final String CLOSED = "closed";
+    public static final String REMOVED = "removed";
+
+    static ListingChange of(Long id, String change) {
+        return new ListingChange(id, change, null, null);
+    }
+}
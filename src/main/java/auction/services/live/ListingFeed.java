@@ -0,0 +1,127 @@
+package auction.services.live;
+
+import auction.events.AuctionClosedEvent;
+import auction.events.AuctionCreatedEvent;
+import auction.events.AuctionRemovedEvent;
+import auction.events.AuctionUpdatedEvent;
+import auction.events.BidPlacedEvent;
+import auction.model.AuctionCard;
+import auction.services.readmodel.ActiveAuctionReadModel;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Change feed of the auction listing, one stream per category plus one for all of them. Changes are coalesced
+ * per auction and sent as one compact batch every {@code auction.feed.flush-ms}, so a burst of bids on a hot
+ * auction costs listing pages a single update. Only topics somebody listens to collect changes. Closed or
+ * removed auctions whose category is no longer known are sent to every stream; pages ignore ids they do not
+ * show.
+ */
+@Component
+public class ListingFeed {
+
+    private static final String ALL = "";
+    private static final String CHANGES = "changes";
+
+    private final ActiveAuctionReadModel readModel;
+    private final StreamHub<String> hub;
+    private final Map<String, Map<Long, ListingChange>> pending = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ListingFeed(ActiveAuctionReadModel readModel, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                       @Value("${auction.feed.threads:2}") int threads,
+                       @Value("${auction.feed.buffer-size:16}") int bufferSize,
+                       @Value("${auction.live.timeout-ms:1800000}") long timeoutMs,
+                       @Value("${auction.live.write-timeout-ms:10000}") long writeTimeoutMs) {
+        this.readModel = readModel;
+        this.hub = new StreamHub<>("auction-feed", "change streams of listing pages", objectMapper, meterRegistry,
+                threads, bufferSize, timeoutMs, writeTimeoutMs);
+    }
+
+    /**
+     * Subscribes to the changes of one category, or of all auctions when the category is null.
+     */
+    public SseEmitter subscribe(String category) {
+        return hub.subscribe(category == null ? ALL : category);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCreated(AuctionCreatedEvent event) {
+        record(event.auction().getCategory(), ListingChange.of(event.auctionId(), ListingChange.ADDED));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUpdated(AuctionUpdatedEvent event) {
+        AuctionCard card = event.auction();
+        record(card.getCategory(), new ListingChange(card.getId(), ListingChange.UPDATED, card.getCurrentBid(),
+                card.getBidCount()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBidPlaced(BidPlacedEvent event) {
+        record(readModel.categoryOf(event.auctionId()), new ListingChange(event.auctionId(), ListingChange.BID,
+                event.currentBid(), event.bidCount()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onClosed(AuctionClosedEvent event) {
+        record(readModel.categoryOf(event.auctionId()), ListingChange.of(event.auctionId(), ListingChange.CLOSED));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRemoved(AuctionRemovedEvent event) {
+        record(readModel.categoryOf(event.auctionId()), ListingChange.of(event.auctionId(), ListingChange.REMOVED));
+    }
+
+    @Scheduled(fixedDelayString = "${auction.feed.flush-ms:300}")
+    public void flush() {
+        for (String topic : pending.keySet()) {
+            Map<Long, ListingChange> changes = pending.remove(topic);
+            if (changes != null) {
+                hub.publish(topic, CHANGES, new ArrayList<>(changes.values()), false);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${auction.live.heartbeat-ms:20000}")
+    public void heartbeat() {
+        hub.heartbeat();
+    }
+
+    private void record(String category, ListingChange change) {
+        if (category == null) {
+            hub.topics().forEach(topic -> add(topic, change));
+        } else {
+            add(category, change);
+            add(ALL, change);
+        }
+    }
+
+    private void add(String topic, ListingChange change) {
+        if (!hub.hasSubscribers(topic)) {
+            return;
+        }
+        pending.compute(topic, (key, changes) -> {
+            Map<Long, ListingChange> batch = changes == null ? new LinkedHashMap<>() : changes;
+            batch.put(change.id(), change);
+            return batch;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hub.shutdown();
+    }
+}
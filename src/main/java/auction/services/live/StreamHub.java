@@ -0,0 +1,281 @@
+package auction.services.live;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fan-out of server-sent events to the subscribers of a topic. An idle stream is just an async request parked in
+ * the servlet container, so subscribers cost no threads until there is something to send. Every subscriber has
+ * a bounded buffer drained by a small sender pool; a subscriber whose buffer is full is too slow to keep up and
+ * is disconnected, after which its browser reconnects and starts from the current page state.
+ * <p>
+ * Sends are blocking writes to the client's socket, so a client that stops reading would hold a sender thread
+ * until the container gives up on the write. A watchdog disconnects every subscriber whose send takes longer
+ * than the write timeout and gives its sender's place in the pool to a fresh thread, so one stalled client never
+ * holds up the others. The stalled thread leaves the pool once its write returns.
+ */
+class StreamHub<K> {
+
+    private static final long STALLED = 2;
+
+    private final ObjectMapper objectMapper;
+    private final Map<K, Set<Subscriber<K>>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final Set<Subscriber<K>> sending = ConcurrentHashMap.newKeySet();
+    private final ThreadPoolExecutor senders;
+    private final ScheduledExecutorService watchdog;
+    private final int bufferSize;
+    private final long timeoutMs;
+    private final long writeTimeoutNanos;
+    private final Counter dropped;
+    private final Counter stalled;
+
+    StreamHub(String name, String description, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+              int threads, int bufferSize, long timeoutMs, long writeTimeoutMs) {
+        this.objectMapper = objectMapper;
+        this.bufferSize = bufferSize;
+        this.timeoutMs = timeoutMs;
+        this.writeTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(writeTimeoutMs);
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.senders = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+            Thread thread = new Thread(r, name + "-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.watchdog = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, name + "-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long checkMs = Math.max(writeTimeoutMs / 4, 10);
+        watchdog.scheduleWithFixedDelay(this::dropStalledSends, checkMs, checkMs, TimeUnit.MILLISECONDS);
+        Gauge.builder(name.replace('-', '.') + ".subscribers", subscriberCount, AtomicInteger::get)
+                .description("Open " + description)
+                .register(meterRegistry);
+        this.dropped = Counter.builder(name.replace('-', '.') + ".dropped")
+                .description("Streams disconnected because their buffer was full")
+                .register(meterRegistry);
+        this.stalled = Counter.builder(name.replace('-', '.') + ".stalled")
+                .description("Streams disconnected because a send took longer than the write timeout")
+                .register(meterRegistry);
+    }
+
+    SseEmitter subscribe(K topic) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber<K> subscriber = new Subscriber<>(topic, emitter, new ArrayBlockingQueue<>(bufferSize), new AtomicBoolean(),
+                new AtomicLong());
+        subscribers.compute(topic, (key, set) -> {
+            Set<Subscriber<K>> members = set == null ? ConcurrentHashMap.newKeySet() : set;
+            members.add(subscriber);
+            return members;
+        });
+        subscriberCount.incrementAndGet();
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(e -> remove(subscriber));
+        return emitter;
+    }
+
+    /**
+     * A stream that sends a single event and ends.
+     */
+    SseEmitter single(String name, Object value) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        try {
+            emitter.send(SseEmitter.event().name(name).data(objectMapper.writeValueAsString(value)));
+            emitter.complete();
+        } catch (IOException e) {
+            emitter.completeWithError(e);
+        }
+        return emitter;
+    }
+
+    Set<K> topics() {
+        return subscribers.keySet();
+    }
+
+    boolean hasSubscribers(K topic) {
+        return subscribers.containsKey(topic);
+    }
+
+    /**
+     * Queues an event for every subscriber of the topic. The value is serialized once and shared by all of them.
+     * A last event ends the streams once it is sent.
+     */
+    void publish(K topic, String name, Object value, boolean last) {
+        if (!subscribers.containsKey(topic)) {
+            return;
+        }
+        try {
+            publish(topic, new Message(name, objectMapper.writeValueAsString(value), last));
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Could not serialize " + value, e);
+        }
+    }
+
+    /**
+     * Sends a comment to every stream so connections that died silently are noticed and proxies keep idle ones
+     * open.
+     */
+    void heartbeat() {
+        Message ping = new Message(null, null, false);
+        subscribers.keySet().forEach(topic -> publish(topic, ping));
+    }
+
+    private void publish(K topic, Message message) {
+        if (!subscribers.containsKey(topic)) {
+            return;
+        }
+        // callers are event listeners, often on the bid writer thread, keep the fan-out off it
+        senders.execute(() -> {
+            Set<Subscriber<K>> members = subscribers.get(topic);
+            if (members == null) {
+                return;
+            }
+            for (Subscriber<K> subscriber : members) {
+                if (subscriber.buffer().offer(message)) {
+                    schedule(subscriber);
+                } else {
+                    dropped.increment();
+                    remove(subscriber);
+                    subscriber.emitter().complete();
+                }
+            }
+        });
+    }
+
+    private void schedule(Subscriber<K> subscriber) {
+        if (subscriber.draining().compareAndSet(false, true)) {
+            senders.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber<K> subscriber) {
+        do {
+            Message message;
+            while ((message = subscriber.buffer().poll()) != null) {
+                if (!send(subscriber, message)) {
+                    return;
+                }
+            }
+            subscriber.draining().set(false);
+        } while (!subscriber.buffer().isEmpty() && subscriber.draining().compareAndSet(false, true));
+    }
+
+    private boolean send(Subscriber<K> subscriber, Message message) {
+        SseEmitter emitter = subscriber.emitter();
+        long startedAt = System.nanoTime() | 1;
+        subscriber.sendingSince().set(startedAt);
+        sending.add(subscriber);
+        try {
+            if (message.name() == null) {
+                emitter.send(SseEmitter.event().comment("ping"));
+            } else {
+                emitter.send(SseEmitter.event().name(message.name()).data(message.data()));
+            }
+        } catch (IOException | IllegalStateException e) {
+            // the browser went away or the stream already ended
+            remove(subscriber);
+            finishSend(subscriber, startedAt);
+            return false;
+        }
+        if (!finishSend(subscriber, startedAt)) {
+            return false;
+        }
+        if (message.last()) {
+            remove(subscriber);
+            emitter.complete();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns false when the watchdog gave up on the send while it was running.
+     */
+    private boolean finishSend(Subscriber<K> subscriber, long startedAt) {
+        sending.remove(subscriber);
+        if (subscriber.sendingSince().compareAndSet(startedAt, 0)) {
+            return true;
+        }
+        // a fresh thread already took this one's place, leave the pool
+        resizeSenders(-1);
+        subscriber.emitter().complete();
+        return false;
+    }
+
+    private void dropStalledSends() {
+        long now = System.nanoTime();
+        for (Subscriber<K> subscriber : sending) {
+            long startedAt = subscriber.sendingSince().get();
+            if (startedAt != 0 && now - startedAt > writeTimeoutNanos
+                    && subscriber.sendingSince().compareAndSet(startedAt, STALLED)) {
+                sending.remove(subscriber);
+                stalled.increment();
+                remove(subscriber);
+                // the emitter is completed by the sender once its write returns, completing it here would wait on it
+                resizeSenders(1);
+            }
+        }
+    }
+
+    private synchronized void resizeSenders(int delta) {
+        if (delta > 0) {
+            senders.setMaximumPoolSize(senders.getMaximumPoolSize() + delta);
+            senders.setCorePoolSize(senders.getCorePoolSize() + delta);
+        } else {
+            senders.setCorePoolSize(senders.getCorePoolSize() + delta);
+            senders.setMaximumPoolSize(senders.getMaximumPoolSize() + delta);
+        }
+    }
+
+    private void remove(Subscriber<K> subscriber) {
+        boolean[] removed = new boolean[1];
+        subscribers.computeIfPresent(subscriber.topic(), (key, members) -> {
+            removed[0] = members.remove(subscriber);
+            return members.isEmpty() ? null : members;
+        });
+        if (removed[0]) {
+            subscriberCount.decrementAndGet();
+        }
+    }
+
+    void shutdown() {
+        subscribers.values().forEach(members -> members.forEach(subscriber -> subscriber.emitter().complete()));
+        watchdog.shutdownNow();
+        senders.shutdown();
+    }
+
+    /**
+     * A message without a name is a heartbeat.
+     */
+    private record Message(String name, String data, boolean last) {
+    }
+
+    /**
+     * {@code sendingSince} is the odd start time of the running send, 0 when idle and {@link #STALLED} once the
+     * watchdog gave up on it.
+     */
+    private record Subscriber<K>(K topic, SseEmitter emitter, Queue<Message> buffer, AtomicBoolean draining,
+                                 AtomicLong sendingSince) {
+    }
+}
@@ -0,0 +1,254 @@
+package auction.services.readmodel;
+
+import auction.events.AuctionClosedEvent;
+import auction.events.AuctionCreatedEvent;
+import auction.events.AuctionRemovedEvent;
+import auction.events.AuctionUpdatedEvent;
+import auction.events.BidPlacedEvent;
+import auction.model.Auction;
+import auction.model.AuctionCard;
+import auction.repository.AuctionRepository;
+import auction.repository.listing.AuctionSort;
+import auction.repository.listing.ListingCursor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Query side of the auction listing. Holds a card of every active auction and keeps it sorted in skip lists by
+ * id, current price, end time and bid count, once for all auctions and once per category, so any
+ * category/sort/page combination is a seek plus a short walk without touching the database. Changes arrive
+ * as auction lifecycle events; writers are serialized while readers never block. The partitions also give the
+ * category facets: their size is counted on every change and their price range is the two ends of the price
+ * index.
+ */
+@Component
+public class ActiveAuctionReadModel {
+
+    private static final String ALL = "";
+
+    private final Logger logger = LoggerFactory.getLogger(ActiveAuctionReadModel.class);
+
+    private final AuctionRepository auctionRepository;
+    private final Map<Long, AuctionCard> cards = new ConcurrentHashMap<>();
+    private final Map<String, Partition> partitions = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+
+    @Autowired
+    public ActiveAuctionReadModel(AuctionRepository auctionRepository) {
+        this.auctionRepository = auctionRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        rebuild();
+        if (!isConsistent()) {
+            logger.warn("Read model disagreed with the database after loading, rebuilding it");
+            rebuild();
+        }
+        ready = true;
+        logger.info("Read model holds " + cards.size() + " active auctions in " + (partitions.size() - 1) + " categories");
+    }
+
+    /**
+     * False until the model is loaded; callers fall back to the database until then.
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Returns up to {@code limit} active auctions following {@code cursor} in the given order. A null category
+     * or id set does not filter.
+     */
+    public List<AuctionCard> findPage(String category, Collection<Long> ids, AuctionSort sort, ListingCursor cursor, int limit) {
+        Partition partition = partitions.get(category == null ? ALL : category);
+        if (partition == null) {
+            return List.of();
+        }
+        NavigableMap<SortKey, AuctionCard> index = partition.index(sort);
+        if (!sort.isAscending()) {
+            index = index.descendingMap();
+        }
+        if (cursor != null) {
+            index = index.tailMap(new SortKey(cursor.key(), cursor.id()), false);
+        }
+        List<AuctionCard> page = new ArrayList<>(limit);
+        for (AuctionCard card : index.values()) {
+            if (page.size() == limit) {
+                break;
+            }
+            if (ids == null || ids.contains(card.getId())) {
+                page.add(card);
+            }
+        }
+        return page;
+    }
+
+    /**
+     * Facets of the given categories in the given order. {@code allCategories} names the entry covering every
+     * category.
+     */
+    public List<CategoryFacet> findFacets(List<String> categories, String allCategories) {
+        return categories.stream()
+                .map(category -> {
+                    Partition partition = partitions.get(category.equals(allCategories) ? ALL : category);
+                    return partition == null ? new CategoryFacet(category, 0, null, null) : partition.facet(category);
+                })
+                .toList();
+    }
+
+    /**
+     * Returns the cards of the given auctions in the given order, skipping the ones that are not active.
+     */
+    public List<AuctionCard> findAll(List<Long> ids) {
+        return ids.stream().map(cards::get).filter(Objects::nonNull).toList();
+    }
+
+    /**
+     * The category of an active auction, or null when the auction is not (or no longer) active.
+     */
+    public String categoryOf(Long auctionId) {
+        AuctionCard card = cards.get(auctionId);
+        return card == null ? null : card.getCategory();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCreated(AuctionCreatedEvent event) {
+        put(event.auction());
+    }
+
+    /**
+     * Update events are published by request threads and bid events by the bid engine, so an update may arrive
+     * after a bid it did not see; the bid fields only ever move forward, like in {@link #onBidPlaced}.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onUpdated(AuctionUpdatedEvent event) {
+        if (event.auction().getStatus() == Auction.AuctionStatus.ACTIVE) {
+            AuctionCard updated = event.auction();
+            AuctionCard current = cards.get(updated.getId());
+            if (current != null && current.getBidCount() > updated.getBidCount()) {
+                updated = updated.withCurrentBid(current.getCurrentBid()).withBidCount(current.getBidCount());
+            }
+            put(updated);
+        } else {
+            remove(event.auctionId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onBidPlaced(BidPlacedEvent event) {
+        AuctionCard card = cards.get(event.auctionId());
+        if (card != null && event.bidCount() > card.getBidCount()) {
+            put(card.withCurrentBid(event.currentBid()).withBidCount(event.bidCount()));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onClosed(AuctionClosedEvent event) {
+        remove(event.auctionId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRemoved(AuctionRemovedEvent event) {
+        remove(event.auctionId());
+    }
+
+    private synchronized void put(AuctionCard card) {
+        remove(card.getId());
+        cards.put(card.getId(), card);
+        partition(ALL).add(card);
+        partition(card.getCategory()).add(card);
+    }
+
+    private synchronized void remove(Long auctionId) {
+        AuctionCard card = cards.remove(auctionId);
+        if (card != null) {
+            partition(ALL).remove(card);
+            partition(card.getCategory()).remove(card);
+        }
+    }
+
+    private Partition partition(String category) {
+        return partitions.computeIfAbsent(category, c -> new Partition());
+    }
+
+    private synchronized void rebuild() {
+        cards.clear();
+        partitions.clear();
+        auctionRepository.findCardsByStatusIn(List.of(Auction.AuctionStatus.ACTIVE)).forEach(this::put);
+    }
+
+    /**
+     * Compares the number of active auctions and their bids with the database.
+     */
+    private synchronized boolean isConsistent() {
+        AuctionRepository.StatusSummary summary = auctionRepository.summarizeByStatus(Auction.AuctionStatus.ACTIVE);
+        long bids = cards.values().stream().mapToLong(AuctionCard::getBidCount).sum();
+        return summary.getAuctions() == cards.size() && summary.getBids() == bids;
+    }
+
+    /**
+     * The cards of one category (or of all of them) under each sort attribute.
+     */
+    private static class Partition {
+        private final Map<String, ConcurrentSkipListMap<SortKey, AuctionCard>> indexes = new ConcurrentHashMap<>();
+        private volatile int size;
+
+        private NavigableMap<SortKey, AuctionCard> index(AuctionSort sort) {
+            return indexes.computeIfAbsent(sort.getAttribute(), attribute -> new ConcurrentSkipListMap<>());
+        }
+
+        private void add(AuctionCard card) {
+            for (AuctionSort sort : AuctionSort.values()) {
+                index(sort).put(SortKey.of(sort, card), card);
+            }
+            size++;
+        }
+
+        private void remove(AuctionCard card) {
+            for (AuctionSort sort : AuctionSort.values()) {
+                index(sort).remove(SortKey.of(sort, card));
+            }
+            size--;
+        }
+
+        private CategoryFacet facet(String category) {
+            NavigableMap<SortKey, AuctionCard> byPrice = index(AuctionSort.PRICE_ASC);
+            Map.Entry<SortKey, AuctionCard> cheapest = byPrice.firstEntry();
+            Map.Entry<SortKey, AuctionCard> priciest = byPrice.lastEntry();
+            if (cheapest == null || priciest == null) {
+                return new CategoryFacet(category, 0, null, null);
+            }
+            return new CategoryFacet(category, size, cheapest.getValue().getCurrentBid(),
+                    priciest.getValue().getCurrentBid());
+        }
+    }
+
+    private record SortKey(Comparable<?> key, Long id) implements Comparable<SortKey> {
+
+        static SortKey of(AuctionSort sort, AuctionCard card) {
+            return new SortKey(sort.keyOf(card), card.getId());
+        }
+
+        @Override
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        public int compareTo(SortKey other) {
+            int byKey = ((Comparable) key).compareTo(other.key);
+            return byKey != 0 ? byKey : id.compareTo(other.id);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package auction.services.readmodel;
+
+import lombok.Value;
+
+import java.math.BigDecimal;
+
+/**
+ * Sidebar entry of a category: how many auctions are active in it and the range of their current prices.
+ * The prices are null when the category is empty.
+ */
+@Value
+public class CategoryFacet {
+    String category;
+    int auctions;
+    BigDecimal minPrice;
+    BigDecimal maxPrice;
+}
@@ -0,0 +1,215 @@
+package auction.services.search;
+
+import auction.events.AuctionClosedEvent;
+import auction.events.AuctionCreatedEvent;
+import auction.events.AuctionRemovedEvent;
+import auction.events.AuctionUpdatedEvent;
+import auction.events.BidPlacedEvent;
+import auction.model.Auction;
+import auction.model.AuctionCard;
+import auction.repository.AuctionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Inverted index over the title and description of active auctions. Every term maps to a postings list of the
+ * auctions containing it together with a weighted term frequency, title hits counting {@value #TITLE_WEIGHT}
+ * times. Query terms match index terms by prefix and all of them have to match; results are ranked by tf-idf,
+ * then by bid count. The index is loaded once on startup and then follows the auction lifecycle events.
+ */
+@Component
+public class AuctionSearchIndex {
+
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int TITLE_WEIGHT = 3;
+
+    private final Logger logger = LoggerFactory.getLogger(AuctionSearchIndex.class);
+
+    private final AuctionRepository auctionRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final NavigableMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+    private final Map<Long, Document> documents = new HashMap<>();
+
+    @Autowired
+    public AuctionSearchIndex(AuctionRepository auctionRepository) {
+        this.auctionRepository = auctionRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        List<AuctionCard> active = auctionRepository.findCardsByStatusIn(List.of(Auction.AuctionStatus.ACTIVE));
+        active.forEach(this::index);
+        logger.info("Indexed " + active.size() + " active auctions, " + postings.size() + " terms");
+    }
+
+    /**
+     * Returns the ids of matching active auctions, best match first. A null category matches every category.
+     */
+    public List<Long> search(String query, String category, int limit) {
+        List<String> terms = tokenize(query).stream().distinct().toList();
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            Map<Long, Double> scores = null;
+            for (String term : terms) {
+                Map<Long, Double> termScores = score(term);
+                if (scores == null) {
+                    scores = termScores;
+                } else {
+                    Map<Long, Double> matchedSoFar = scores;
+                    termScores.keySet().retainAll(matchedSoFar.keySet());
+                    termScores.replaceAll((id, score) -> score + matchedSoFar.get(id));
+                    scores = termScores;
+                }
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+            Map<Long, Double> ranked = scores;
+            return ranked.keySet().stream()
+                    .filter(id -> category == null || category.equals(documents.get(id).category))
+                    .sorted(Comparator.<Long>comparingDouble(ranked::get).reversed()
+                            .thenComparing(id -> documents.get(id).bidCount, Comparator.reverseOrder())
+                            .thenComparing(Comparator.naturalOrder()))
+                    .limit(limit)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Sums the tf-idf of every index term starting with the query term, per auction.
+     */
+    private Map<Long, Double> score(String term) {
+        Map<Long, Double> scores = new HashMap<>();
+        int documentCount = documents.size();
+        for (Map<Long, Integer> list : postings.subMap(term, true, term + Character.MAX_VALUE, true).values()) {
+            double idf = Math.log(1 + (double) documentCount / list.size());
+            list.forEach((id, frequency) -> scores.merge(id, frequency * idf, Double::sum));
+        }
+        return scores;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCreated(AuctionCreatedEvent event) {
+        index(event.auction());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUpdated(AuctionUpdatedEvent event) {
+        if (event.auction().getStatus() == Auction.AuctionStatus.ACTIVE) {
+            index(event.auction());
+        } else {
+            remove(event.auctionId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBidPlaced(BidPlacedEvent event) {
+        lock.writeLock().lock();
+        try {
+            Document document = documents.get(event.auctionId());
+            if (document != null) {
+                document.bidCount = event.bidCount();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onClosed(AuctionClosedEvent event) {
+        remove(event.auctionId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRemoved(AuctionRemovedEvent event) {
+        remove(event.auctionId());
+    }
+
+    private void index(AuctionCard auction) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        tokenize(auction.getTitle()).forEach(term -> frequencies.merge(term, TITLE_WEIGHT, Integer::sum));
+        tokenize(auction.getDescription()).forEach(term -> frequencies.merge(term, 1, Integer::sum));
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(auction.getId());
+            frequencies.forEach((term, frequency) ->
+                    postings.computeIfAbsent(term, t -> new HashMap<>()).put(auction.getId(), frequency));
+            documents.put(auction.getId(),
+                    new Document(auction.getCategory(), frequencies.keySet(), auction.getBidCount()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void remove(Long auctionId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(auctionId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeLocked(Long auctionId) {
+        Document document = documents.remove(auctionId);
+        if (document == null) {
+            return;
+        }
+        for (String term : document.terms) {
+            Map<Long, Integer> list = postings.get(term);
+            list.remove(auctionId);
+            if (list.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null) {
+            return List.of();
+        }
+        List<String> tokens = new ArrayList<>();
+        for (String token : TOKEN_SEPARATOR.split(text.toLowerCase())) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private static class Document {
+        private final String category;
+        private final Set<String> terms;
+        private int bidCount;
+
+        private Document(String category, Set<String> terms, int bidCount) {
+            this.category = category;
+            this.terms = new LinkedHashSet<>(terms);
+            this.bidCount = bidCount;
+        }
+    }
+}
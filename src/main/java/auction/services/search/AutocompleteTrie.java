@@ -0,0 +1,362 @@
+package auction.services.search;
+
+import auction.events.AuctionClosedEvent;
+import auction.events.AuctionCreatedEvent;
+import auction.events.AuctionRemovedEvent;
+import auction.events.AuctionUpdatedEvent;
+import auction.events.BidPlacedEvent;
+import auction.model.Auction;
+import auction.model.AuctionCard;
+import auction.repository.AuctionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Radix trie over the titles of active auctions and their categories. Chains of single-child nodes are merged
+ * into one edge, so the trie has at most twice as many nodes as it has keys. Every entry is reachable from the
+ * start of each of its words, so "car" completes "Vintage Car". Each node caches the top
+ * {@code auction.autocomplete.max-results} entries of its subtree by bid count; adding or removing an entry only
+ * clears the caches on its paths and they are rebuilt from the children's caches on the next lookup, so a
+ * keystroke costs a walk down the prefix plus, at most, a few small merges.
+ * <p>
+ * Bids never change the trie. They update the counts of the title and category entries in place, and the cached
+ * rankings are refreshed every {@code auction.autocomplete.rerank-ms} when bids came in; until then a lookup
+ * returns the current counts of the entries that were on top at the last refresh.
+ */
+@Component
+public class AutocompleteTrie {
+
+    private static final Comparator<Suggestion> RANKING = Comparator.comparingInt(Suggestion::bidCount).reversed()
+            .thenComparingInt(suggestion -> suggestion.text().length())
+            .thenComparing(Suggestion::text);
+
+    private final AuctionRepository auctionRepository;
+    private final int maxResults;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Node root = new Node("");
+    private final Map<Long, Entry> titles = new HashMap<>();
+    private final Map<Long, String> categoryOf = new HashMap<>();
+    private final Map<String, CategoryTotals> categories = new HashMap<>();
+    private final AtomicBoolean bidsSinceRanking = new AtomicBoolean();
+    private volatile long ranking;
+
+    @Autowired
+    public AutocompleteTrie(AuctionRepository auctionRepository,
+                            @Value("${auction.autocomplete.max-results:10}") int maxResults) {
+        this.auctionRepository = auctionRepository;
+        this.maxResults = maxResults;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        auctionRepository.findCardsByStatusIn(List.of(Auction.AuctionStatus.ACTIVE)).forEach(this::put);
+    }
+
+    public List<Suggestion> complete(String prefix, int limit) {
+        String key = normalize(prefix);
+        if (key.isEmpty()) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            // the prefix may end inside an edge, everything below that edge still starts with it
+            for (int i = 0; i < key.length(); ) {
+                node = node.children.get(key.charAt(i));
+                if (node == null) {
+                    return List.of();
+                }
+                int length = Math.min(node.label.length(), key.length() - i);
+                if (!node.label.regionMatches(0, key, i, length)) {
+                    return List.of();
+                }
+                i += length;
+            }
+            List<Suggestion> top = top(node, ranking).stream().map(Entry::toSuggestion).sorted(RANKING).toList();
+            return top.subList(0, Math.min(limit, top.size()));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the cached top entries of the subtree, rebuilding them from the children if a change cleared them
+     * or the ranking was refreshed since. Concurrent readers may rebuild the same cache, they all arrive at the
+     * same list.
+     */
+    private List<Entry> top(Node node, long ranking) {
+        Top top = node.top;
+        if (top != null && top.ranking() == ranking) {
+            return top.entries();
+        }
+        // an entry reachable through several of its words is ranked once
+        Map<Entry, Suggestion> candidates = new IdentityHashMap<>();
+        node.entries.forEach(entry -> candidates.put(entry, entry.toSuggestion()));
+        node.children.values().forEach(child ->
+                top(child, ranking).forEach(entry -> candidates.computeIfAbsent(entry, Entry::toSuggestion)));
+        List<Entry> entries = candidates.entrySet().stream()
+                .sorted(Map.Entry.comparingByValue(RANKING))
+                .limit(maxResults)
+                .map(Map.Entry::getKey)
+                .toList();
+        node.top = new Top(ranking, entries);
+        return entries;
+    }
+
+    @Scheduled(fixedDelayString = "${auction.autocomplete.rerank-ms:5000}")
+    public void rerank() {
+        if (bidsSinceRanking.getAndSet(false)) {
+            ranking++;
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCreated(AuctionCreatedEvent event) {
+        put(event.auction());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUpdated(AuctionUpdatedEvent event) {
+        if (event.auction().getStatus() == Auction.AuctionStatus.ACTIVE) {
+            put(event.auction());
+        } else {
+            remove(event.auctionId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBidPlaced(BidPlacedEvent event) {
+        lock.writeLock().lock();
+        try {
+            Entry title = titles.get(event.auctionId());
+            if (title != null) {
+                setBidCount(event.auctionId(), title, event.bidCount());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onClosed(AuctionClosedEvent event) {
+        remove(event.auctionId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRemoved(AuctionRemovedEvent event) {
+        remove(event.auctionId());
+    }
+
+    private void put(AuctionCard auction) {
+        lock.writeLock().lock();
+        try {
+            Entry title = titles.get(auction.getId());
+            if (title != null && title.text.equals(auction.getTitle())
+                    && Objects.equals(auction.getCategory(), categoryOf.get(auction.getId()))) {
+                setBidCount(auction.getId(), title, auction.getBidCount());
+                return;
+            }
+            removeLocked(auction.getId());
+            title = new Entry(auction.getTitle(), Suggestion.TITLE, auction.getId(), auction.getBidCount());
+            titles.put(auction.getId(), title);
+            link(title);
+            if (auction.getCategory() == null) {
+                return;
+            }
+            categoryOf.put(auction.getId(), auction.getCategory());
+            CategoryTotals totals = categories.get(auction.getCategory());
+            if (totals == null) {
+                totals = new CategoryTotals(new Entry(auction.getCategory(), Suggestion.CATEGORY, null, 0));
+                categories.put(auction.getCategory(), totals);
+                link(totals.entry);
+            }
+            totals.auctions++;
+            totals.entry.bidCount += title.bidCount;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void remove(Long auctionId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(auctionId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeLocked(Long auctionId) {
+        Entry title = titles.remove(auctionId);
+        String category = categoryOf.remove(auctionId);
+        if (title == null) {
+            return;
+        }
+        unlink(title);
+        CategoryTotals totals = categories.get(category);
+        if (totals != null && --totals.auctions == 0) {
+            categories.remove(category);
+            unlink(totals.entry);
+        } else if (totals != null) {
+            totals.entry.bidCount -= title.bidCount;
+        }
+    }
+
+    /**
+     * Moves the count of a title and the total of its category without touching the trie.
+     */
+    private void setBidCount(Long auctionId, Entry title, int bidCount) {
+        CategoryTotals totals = categories.get(categoryOf.get(auctionId));
+        if (totals != null) {
+            totals.entry.bidCount += bidCount - title.bidCount;
+        }
+        title.bidCount = bidCount;
+        bidsSinceRanking.set(true);
+    }
+
+    private void link(Entry entry) {
+        for (String key : keys(entry.text)) {
+            Node node = root;
+            node.top = null;
+            for (int i = 0; i < key.length(); ) {
+                Node child = node.children.get(key.charAt(i));
+                if (child == null) {
+                    child = new Node(key.substring(i));
+                    node.children.put(key.charAt(i), child);
+                } else {
+                    int common = commonPrefix(child.label, key, i);
+                    if (common < child.label.length()) {
+                        Node split = new Node(child.label.substring(0, common));
+                        child.label = child.label.substring(common);
+                        split.children.put(child.label.charAt(0), child);
+                        node.children.put(key.charAt(i), split);
+                        child = split;
+                    }
+                }
+                child.top = null;
+                i += child.label.length();
+                node = child;
+            }
+            node.entries.add(entry);
+        }
+    }
+
+    private void unlink(Entry entry) {
+        for (String key : keys(entry.text)) {
+            unlink(root, key, 0, entry);
+        }
+    }
+
+    private void unlink(Node node, String key, int depth, Entry entry) {
+        node.top = null;
+        if (depth == key.length()) {
+            node.entries.remove(entry);
+            return;
+        }
+        Node child = node.children.get(key.charAt(depth));
+        if (child == null || !key.startsWith(child.label, depth)) {
+            return;
+        }
+        unlink(child, key, depth + child.label.length(), entry);
+        if (!child.entries.isEmpty()) {
+            return;
+        }
+        if (child.children.isEmpty()) {
+            node.children.remove(key.charAt(depth));
+        } else if (child.children.size() == 1) {
+            // the child is just a bend in the edge now, merge it with its only child
+            Node only = child.children.values().iterator().next();
+            only.label = child.label + only.label;
+            node.children.put(key.charAt(depth), only);
+        }
+    }
+
+    private static int commonPrefix(String label, String key, int from) {
+        int length = Math.min(label.length(), key.length() - from);
+        int i = 0;
+        while (i < length && label.charAt(i) == key.charAt(from + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * The normalized text and every suffix of it that starts a word.
+     */
+    private static List<String> keys(String text) {
+        String normalized = normalize(text);
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < normalized.length(); i++) {
+            if (i == 0 || normalized.charAt(i - 1) == ' ') {
+                keys.add(normalized.substring(i));
+            }
+        }
+        return keys;
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.trim().toLowerCase().replaceAll("\\s+", " ");
+    }
+
+    /**
+     * A title or category in the trie. Only the bid count changes once it is linked.
+     */
+    private static final class Entry {
+        private final String text;
+        private final String type;
+        private final Long auctionId;
+        private int bidCount;
+
+        private Entry(String text, String type, Long auctionId, int bidCount) {
+            this.text = text;
+            this.type = type;
+            this.auctionId = auctionId;
+            this.bidCount = bidCount;
+        }
+
+        private Suggestion toSuggestion() {
+            return new Suggestion(text, type, auctionId, bidCount);
+        }
+    }
+
+    private static class CategoryTotals {
+        private final Entry entry;
+        private int auctions;
+
+        private CategoryTotals(Entry entry) {
+            this.entry = entry;
+        }
+    }
+
+    private record Top(long ranking, List<Entry> entries) {
+    }
+
+    private static class Node {
+        private String label;
+        private final Map<Character, Node> children = new HashMap<>(4);
+        private final Set<Entry> entries = new LinkedHashSet<>(1);
+        private volatile Top top;
+
+        private Node(String label) {
+            this.label = label;
+        }
+    }
+}
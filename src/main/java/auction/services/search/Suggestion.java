@@ -0,0 +1,11 @@
+package auction.services.search;
+
+/**
+ * One autocomplete entry: an active auction title or a category. {@code auctionId} is null for categories,
+ * whose bid count is the total over their active auctions.
+ */
+public record Suggestion(String text, String type, Long auctionId, int bidCount) {
+
+    public static final String TITLE = "title";
+    public static final String CATEGORY = "category";
+}
@@ -0,0 +1,109 @@
+package auction.controllers;
+
+import auction.dao.IUserDAO;
+import auction.model.Auction;
+import auction.model.User;
+import auction.services.IAuctionService;
+import auction.session.SessionConstants;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:auction-api-test",
+        "spring.jpa.show-sql=false",
+        "logging.level.root=WARN"})
+@AutoConfigureMockMvc
+class AuctionApiControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private IAuctionService auctionService;
+
+    @Autowired
+    private IUserDAO userDAO;
+
+    private MockHttpSession session;
+    private Long auctionId;
+
+    @BeforeEach
+    void createAuction() {
+        Auction auction = Auction.builder()
+                .title("API test auction")
+                .description("Auction bid on through the API")
+                .startingPrice(new BigDecimal("10"))
+                .buyNowPrice(new BigDecimal("100"))
+                .endTime(LocalDateTime.now().plusDays(1))
+                .seller(userDAO.getByLogin("janusz").orElseThrow())
+                .category("Collectibles")
+                .build();
+        auctionService.createAuction(auction);
+        auctionId = auction.getId();
+        session = new MockHttpSession();
+        session.setAttribute(SessionConstants.USER_KEY, userDAO.getByLogin("wiesiek").orElseThrow());
+    }
+
+    @Test
+    void unknownAuctionIsNotFound() throws Exception {
+        mockMvc.perform(get("/api/v1/auctions/{id}", 999_999))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.error").value("Auction not found with id: 999999"));
+    }
+
+    @Test
+    void bidBelowTheStartingPriceIsRejected() throws Exception {
+        mockMvc.perform(post("/api/v1/auctions/{id}/bids", auctionId).session(session)
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"amount\": 5}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Bid amount must be greater than or equal to the starting price"));
+    }
+
+    @Test
+    void bidWithoutAmountIsRejected() throws Exception {
+        mockMvc.perform(post("/api/v1/auctions/{id}/bids", auctionId).session(session)
+                        .contentType(MediaType.APPLICATION_JSON).content("{}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("amount is required"));
+    }
+
+    @Test
+    void acceptedBidReturnsTheUpdatedAuction() throws Exception {
+        mockMvc.perform(post("/api/v1/auctions/{id}/bids", auctionId).session(session)
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"amount\": 12}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.currentBid").value(12))
+                .andExpect(jsonPath("$.bidCount").value(1));
+    }
+
+    @Test
+    void bidWithoutSessionIsUnauthorized() throws Exception {
+        mockMvc.perform(post("/api/v1/auctions/{id}/bids", auctionId)
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"amount\": 12}"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void bidOnAClosedAuctionIsRejected() throws Exception {
+        User buyer = userDAO.getByLogin("admin").orElseThrow();
+        auctionService.buyNow(auctionId, buyer);
+        mockMvc.perform(post("/api/v1/auctions/{id}/bids", auctionId).session(session)
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"amount\": 12}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("This auction is not active"));
+    }
+}
@@ -0,0 +1,98 @@
+package auction.controllers;
+
+import auction.dao.IUserDAO;
+import auction.model.Auction;
+import auction.model.User;
+import auction.services.IAuctionService;
+import auction.services.readmodel.CategoryFacet;
+import auction.session.SessionConstants;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.model;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:auction-controller-test",
+        "spring.jpa.show-sql=false",
+        "logging.level.root=WARN"})
+@AutoConfigureMockMvc
+class AuctionControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private IAuctionService auctionService;
+
+    @Autowired
+    private IUserDAO userDAO;
+
+    private MockHttpSession session;
+
+    @BeforeEach
+    void bidOnTwoAuctions() {
+        // a bidder of its own, so the auctions of other tests stay off the page
+        User bidder = new User(null, "My", "Bids", "my-bids-" + UUID.randomUUID(), "", User.Role.USER);
+        userDAO.save(bidder);
+        createAuction("Collectibles", "10");
+        auctionService.placeBid(createAuction("Collectibles", "10"), bidder, new BigDecimal("15"));
+        auctionService.placeBid(createAuction("Jewelry", "40"), bidder, new BigDecimal("40"));
+        session = new MockHttpSession();
+        session.setAttribute(SessionConstants.USER_KEY, bidder);
+    }
+
+    @Test
+    void myBidsShowsFacetsOfTheUsersAuctionsOnly() throws Exception {
+        List<CategoryFacet> facets = (List<CategoryFacet>) mockMvc.perform(get("/auctions/my-bids").session(session))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("currentCategory", "All"))
+                .andExpect(model().attribute("currentSort", ""))
+                .andExpect(model().attribute("auctions", hasSize(2)))
+                .andReturn().getModelAndView().getModel().get("facets");
+
+        assertThat(facets).first().isEqualTo(new CategoryFacet("All", 2, new BigDecimal("15.00"), new BigDecimal("40.00")));
+        assertThat(facets).filteredOn(facet -> facet.getCategory().equals("Collectibles")).singleElement()
+                .extracting(CategoryFacet::getAuctions).isEqualTo(1);
+        assertThat(facets).filteredOn(facet -> facet.getCategory().equals("Real Estate")).singleElement()
+                .extracting(CategoryFacet::getAuctions).isEqualTo(0);
+    }
+
+    @Test
+    void allCategoriesOnMyBidsDoesNotFilter() throws Exception {
+        mockMvc.perform(get("/auctions/my-bids").param("category", "All").session(session))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("auctions", hasSize(2)));
+        mockMvc.perform(get("/auctions/my-bids").param("category", "Jewelry").session(session))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("currentCategory", "Jewelry"))
+                .andExpect(model().attribute("auctions", hasSize(1)));
+    }
+
+    private Long createAuction(String category, String startingPrice) {
+        Auction auction = Auction.builder()
+                .title("My bids test auction")
+                .description("Auction shown on the my bids page")
+                .startingPrice(new BigDecimal(startingPrice))
+                .buyNowPrice(new BigDecimal("100000"))
+                .endTime(LocalDateTime.now().plusDays(1))
+                .seller(userDAO.getByLogin("janusz").orElseThrow())
+                .category(category)
+                .build();
+        auctionService.createAuction(auction);
+        return auction.getId();
+    }
+}
@@ -0,0 +1,114 @@
+package auction.repository;
+
+import auction.dao.IUserDAO;
+import auction.model.Auction;
+import auction.model.AuctionCard;
+import auction.repository.listing.AuctionSort;
+import auction.repository.listing.ListingCursor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:auction-listing-test",
+        "spring.jpa.show-sql=false",
+        "logging.level.root=WARN"})
+class AuctionListingRepositoryTest {
+
+    private static final int[] PRICES = {5, 7, 5, 3, 7, 9, 5};
+
+    @Autowired
+    private AuctionRepository auctionRepository;
+
+    @Autowired
+    private IUserDAO userDAO;
+
+    private final String category = "Keyset " + UUID.randomUUID();
+    private final List<AuctionCard> created = new ArrayList<>();
+
+    @BeforeEach
+    void createAuctions() {
+        LocalDateTime endTime = LocalDateTime.now().plusDays(1).withNano(0);
+        for (int i = 0; i < PRICES.length; i++) {
+            Auction auction = auctionRepository.save(Auction.builder()
+                    .title("Keyset auction " + i)
+                    .description("Auction paged through by keyset")
+                    .startingPrice(BigDecimal.valueOf(PRICES[i]))
+                    .buyNowPrice(new BigDecimal("1000"))
+                    .startTime(LocalDateTime.now())
+                    // pairs of auctions share an end time
+                    .endTime(endTime.plusHours(i / 2))
+                    .status(Auction.AuctionStatus.ACTIVE)
+                    .seller(userDAO.getByLogin("janusz").orElseThrow())
+                    .category(category)
+                    .build());
+            created.add(AuctionCard.of(auction));
+        }
+    }
+
+    @Test
+    void pagesFollowTheSortOrderWithTheIdBreakingTies() {
+        for (AuctionSort sort : AuctionSort.values()) {
+            for (int size = 1; size <= PRICES.length + 1; size++) {
+                assertThat(walk(sort, size)).as("%s in pages of %d", sort, size).isEqualTo(expected(sort));
+            }
+        }
+    }
+
+    @Test
+    void cursorOnATieContinuesWithTheRestOfTheTie() {
+        List<Long> byPrice = expected(AuctionSort.PRICE_ASC);
+        // the three auctions priced 5 follow the one priced 3
+        AuctionCard firstOfTie = created.stream().filter(card -> card.getId().equals(byPrice.get(1))).findFirst().orElseThrow();
+
+        List<AuctionCard> page = auctionRepository.findActivePage(category, null, AuctionSort.PRICE_ASC,
+                ListingCursor.after(AuctionSort.PRICE_ASC, firstOfTie), 2);
+
+        assertThat(page).extracting(AuctionCard::getId).containsExactly(byPrice.get(2), byPrice.get(3));
+    }
+
+    @Test
+    void searchMatchesNarrowThePage() {
+        Set<Long> matches = Set.of(created.get(1).getId(), created.get(3).getId(), created.get(5).getId());
+
+        List<AuctionCard> page = auctionRepository.findActivePage(category, matches, AuctionSort.PRICE_DESC, null, 10);
+
+        assertThat(page).extracting(AuctionCard::getId)
+                .containsExactly(created.get(5).getId(), created.get(1).getId(), created.get(3).getId());
+    }
+
+    private List<Long> walk(AuctionSort sort, int size) {
+        List<Long> ids = new ArrayList<>();
+        ListingCursor cursor = null;
+        while (true) {
+            List<AuctionCard> page = auctionRepository.findActivePage(category, null, sort, cursor, size);
+            page.forEach(card -> ids.add(card.getId()));
+            if (page.size() < size) {
+                return ids;
+            }
+            // through the url form, like the listing page does
+            cursor = ListingCursor.decode(sort, ListingCursor.after(sort, page.get(page.size() - 1)).encode());
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private List<Long> expected(AuctionSort sort) {
+        Comparator<AuctionCard> byKey = Comparator.comparing(card -> (Comparable) sort.keyOf(card));
+        Comparator<AuctionCard> order = byKey.thenComparing(AuctionCard::getId);
+        return created.stream()
+                .sorted(sort.isAscending() ? order : order.reversed())
+                .map(AuctionCard::getId)
+                .toList();
+    }
+}
@@ -0,0 +1,56 @@
+package auction.repository.listing;
+
+import auction.model.Auction;
+import auction.model.AuctionCard;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ListingCursorTest {
+
+    private static final AuctionCard CARD = new AuctionCard(42L, "Lamp", "", "Lighting", Auction.AuctionStatus.ACTIVE,
+            new BigDecimal("10.00"), null, new BigDecimal("12.50"), 3, LocalDateTime.of(2026, 10, 18, 12, 30, 15));
+
+    @Test
+    void everySortRoundTripsItsKeyAndId() {
+        for (AuctionSort sort : AuctionSort.values()) {
+            ListingCursor cursor = ListingCursor.decode(sort, ListingCursor.after(sort, CARD).encode());
+
+            assertThat(cursor).as(sort.name()).isEqualTo(new ListingCursor(sort.keyOf(CARD), 42L));
+        }
+    }
+
+    @Test
+    void encodedCursorIsUrlSafe() {
+        assertThat(ListingCursor.after(AuctionSort.TIME_DESC, CARD).encode()).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    void offsetRoundTrips() {
+        String encoded = ListingCursor.atOffset(40).encode();
+
+        assertThat(ListingCursor.decode(AuctionSort.DEFAULT, encoded).offset()).isEqualTo(40);
+    }
+
+    @Test
+    void missingOrMalformedCursorStartsFromTheBeginning() {
+        assertThat(ListingCursor.decode(AuctionSort.PRICE_ASC, null)).isNull();
+        assertThat(ListingCursor.decode(AuctionSort.PRICE_ASC, "")).isNull();
+        assertThat(ListingCursor.decode(AuctionSort.PRICE_ASC, "not a cursor!")).isNull();
+        assertThat(ListingCursor.decode(AuctionSort.PRICE_ASC, encode("12.50"))).isNull();
+        assertThat(ListingCursor.decode(AuctionSort.PRICE_ASC, encode("cheap~42"))).isNull();
+        assertThat(ListingCursor.decode(AuctionSort.PRICE_ASC, encode("12.50~last"))).isNull();
+        // a cursor of another sort order does not parse as this one's key
+        assertThat(ListingCursor.decode(AuctionSort.POPULARITY,
+                ListingCursor.after(AuctionSort.TIME_ASC, CARD).encode())).isNull();
+    }
+
+    private static String encode(String value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,147 @@
+package auction.services.bidding;
+
+import auction.dao.IUserDAO;
+import auction.model.Auction;
+import auction.model.User;
+import auction.services.IAuctionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Drives the writer directly, without the books of the bid engine, with a flush window wide enough that writes
+ * submitted together end up in one batch.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:bid-batch-writer-test",
+        "spring.jpa.show-sql=false",
+        "logging.level.root=OFF",
+        "auction.bids.flush-window-ms=200"})
+class BidBatchWriterTest {
+
+    @Autowired
+    private BidBatchWriter batchWriter;
+
+    @Autowired
+    private IAuctionService auctionService;
+
+    @Autowired
+    private IUserDAO userDAO;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User janusz;
+    private User wiesiek;
+
+    @BeforeEach
+    void loadUsers() {
+        janusz = userDAO.getByLogin("janusz").orElseThrow();
+        wiesiek = userDAO.getByLogin("wiesiek").orElseThrow();
+    }
+
+    @Test
+    void writesOfOneBatchAreCommittedTogether() {
+        Long first = createAuction();
+        Long second = createAuction();
+
+        CompletableFuture<Void> a = batchWriter.submit(write(first, janusz, "10"));
+        CompletableFuture<Void> b = batchWriter.submit(write(second, wiesiek, "12"));
+        CompletableFuture<Void> c = batchWriter.submit(write(first, wiesiek, "11"));
+        CompletableFuture.allOf(a, b, c).join();
+
+        assertThat(bidCount(first)).isEqualTo(2);
+        assertThat(currentBid(first)).isEqualByComparingTo("11");
+        assertThat(leaderId(first)).isEqualTo(wiesiek.getId());
+        assertThat(bidCount(second)).isEqualTo(1);
+        assertThat(currentBid(second)).isEqualByComparingTo("12");
+    }
+
+    @Test
+    void updateNeverMovesThePriceDown() {
+        Long auction = createAuction();
+        batchWriter.submit(write(auction, janusz, "20")).join();
+
+        CompletableFuture<Void> stale = batchWriter.submit(write(auction, wiesiek, "15"));
+        assertThatThrownBy(stale::join).isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(OptimisticLockingFailureException.class);
+        assertThat(currentBid(auction)).isEqualByComparingTo("20");
+        assertThat(leaderId(auction)).isEqualTo(janusz.getId());
+        assertThat(bidCount(auction)).isEqualTo(1);
+    }
+
+    @Test
+    void staleWriteFailsAloneAndTheRestOfItsBatchIsRetried() {
+        Long contested = createAuction();
+        Long other = createAuction();
+        batchWriter.submit(write(contested, janusz, "20")).join();
+
+        CompletableFuture<Void> before = batchWriter.submit(write(other, janusz, "10"));
+        CompletableFuture<Void> stale = batchWriter.submit(write(contested, wiesiek, "15"));
+        CompletableFuture<Void> after = batchWriter.submit(write(other, wiesiek, "11"));
+
+        assertThatThrownBy(stale::join).hasCauseInstanceOf(OptimisticLockingFailureException.class);
+        CompletableFuture.allOf(before, after).join();
+        assertThat(bidCount(contested)).isEqualTo(1);
+        assertThat(bidCount(other)).isEqualTo(2);
+        assertThat(currentBid(other)).isEqualByComparingTo("11");
+        assertThat(leaderId(other)).isEqualTo(wiesiek.getId());
+    }
+
+    @Test
+    void proxyMaximumIsInsertedThenUpdated() {
+        Long auction = createAuction();
+
+        batchWriter.submit(new BidWrite(auction, List.of(new BidWrite.PendingBid(janusz, new BigDecimal("10"))),
+                new BidBook.Proxy(janusz, new BigDecimal("40")), LocalDateTime.now())).join();
+        batchWriter.submit(new BidWrite(auction, List.of(),
+                new BidBook.Proxy(janusz, new BigDecimal("60")), LocalDateTime.now())).join();
+
+        assertThat(jdbcTemplate.queryForList("SELECT max_amount FROM proxy_bids WHERE auction_id = ?",
+                BigDecimal.class, auction)).singleElement().satisfies(max -> assertThat(max).isEqualByComparingTo("60"));
+        assertThat(bidCount(auction)).isEqualTo(1);
+    }
+
+    private Long createAuction() {
+        Auction auction = Auction.builder()
+                .title("Batch writer test auction")
+                .description("Auction written to by the batch writer")
+                .startingPrice(new BigDecimal("10"))
+                .buyNowPrice(new BigDecimal("100000"))
+                .endTime(LocalDateTime.now().plusDays(1))
+                .seller(userDAO.getByLogin("admin").orElseThrow())
+                .category("Collectibles")
+                .build();
+        auctionService.createAuction(auction);
+        return auction.getId();
+    }
+
+    private static BidWrite write(Long auctionId, User bidder, String amount) {
+        return new BidWrite(auctionId, List.of(new BidWrite.PendingBid(bidder, new BigDecimal(amount))), null,
+                LocalDateTime.now());
+    }
+
+    private int bidCount(Long auctionId) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM bids WHERE auction_id = ?", Integer.class, auctionId);
+    }
+
+    private BigDecimal currentBid(Long auctionId) {
+        return jdbcTemplate.queryForObject("SELECT current_bid FROM auctions WHERE id = ?", BigDecimal.class, auctionId);
+    }
+
+    private Long leaderId(Long auctionId) {
+        return jdbcTemplate.queryForObject("SELECT leading_bidder_id FROM auctions WHERE id = ?", Long.class, auctionId);
+    }
+}
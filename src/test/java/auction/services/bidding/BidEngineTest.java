@@ -0,0 +1,177 @@
+package auction.services.bidding;
+
+import auction.dao.IUserDAO;
+import auction.exceptions.AuctionNotFoundException;
+import auction.model.Auction;
+import auction.model.User;
+import auction.services.IAuctionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:bid-engine-test",
+        "spring.jpa.show-sql=false",
+        "logging.level.root=WARN"})
+class BidEngineTest {
+
+    @Autowired
+    private BidEngine bidEngine;
+
+    @Autowired
+    private IAuctionService auctionService;
+
+    @Autowired
+    private IUserDAO userDAO;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User janusz;
+    private User wiesiek;
+    private Long auctionId;
+
+    @BeforeEach
+    void createAuction() {
+        janusz = userDAO.getByLogin("janusz").orElseThrow();
+        wiesiek = userDAO.getByLogin("wiesiek").orElseThrow();
+        Auction auction = Auction.builder()
+                .title("Bid engine test auction")
+                .description("Auction bid on through the engine")
+                .startingPrice(new BigDecimal("10"))
+                .buyNowPrice(new BigDecimal("100000"))
+                .endTime(LocalDateTime.now().plusDays(1))
+                .seller(userDAO.getByLogin("admin").orElseThrow())
+                .category("Collectibles")
+                .build();
+        auctionService.createAuction(auction);
+        auctionId = auction.getId();
+    }
+
+    @Test
+    void acceptedBidsAreCommittedInOrder() {
+        bidEngine.placeBid(auctionId, janusz, new BigDecimal("10")).join();
+        bidEngine.placeBid(auctionId, wiesiek, new BigDecimal("15")).join();
+
+        assertThat(auctionRow()).containsEntry("BID_COUNT", 2).containsEntry("LEADING_BIDDER_ID", wiesiek.getId());
+        assertThat((BigDecimal) auctionRow().get("CURRENT_BID")).isEqualByComparingTo("15");
+        assertThat(jdbcTemplate.queryForList("SELECT amount FROM bids WHERE auction_id = ? ORDER BY id",
+                BigDecimal.class, auctionId)).usingElementComparator(BigDecimal::compareTo)
+                .containsExactly(new BigDecimal("10"), new BigDecimal("15"));
+    }
+
+    @Test
+    void bidBelowTheStartingPriceIsRejected() {
+        assertThatThrownBy(() -> bidEngine.placeBid(auctionId, janusz, new BigDecimal("9")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Bid amount must be greater than or equal to the starting price");
+        assertThat(bidCount()).isZero();
+    }
+
+    @Test
+    void bidNotAboveTheHighestBidIsRejected() {
+        bidEngine.placeBid(auctionId, janusz, new BigDecimal("20")).join();
+
+        assertThatThrownBy(() -> bidEngine.placeBid(auctionId, wiesiek, new BigDecimal("20")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Bid amount must be greater than the current highest bid");
+        assertThat(bidCount()).isEqualTo(1);
+    }
+
+    @Test
+    void closedBookRejectsBids() {
+        assertThat(bidEngine.close(auctionId)).isTrue();
+
+        assertThatThrownBy(() -> bidEngine.placeBid(auctionId, janusz, new BigDecimal("10")))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("This auction is not active");
+        assertThat(bidEngine.close(auctionId)).isFalse();
+    }
+
+    @Test
+    void unknownAuctionIsNotFound() {
+        assertThatThrownBy(() -> bidEngine.placeBid(999_999L, janusz, new BigDecimal("10")))
+                .isInstanceOf(AuctionNotFoundException.class);
+    }
+
+    @Test
+    void evictedBookIsReloadedFromTheDatabase() {
+        bidEngine.placeBid(auctionId, janusz, new BigDecimal("30")).join();
+        bidEngine.evict(auctionId);
+
+        assertThatThrownBy(() -> bidEngine.placeBid(auctionId, wiesiek, new BigDecimal("25")))
+                .isInstanceOf(IllegalArgumentException.class);
+        bidEngine.placeBid(auctionId, wiesiek, new BigDecimal("31")).join();
+        assertThat(bidCount()).isEqualTo(2);
+    }
+
+    @Test
+    void concurrentBiddersAreSerializedOnTheShard() throws Exception {
+        int bidders = 8;
+        int bidsEach = 50;
+        ExecutorService pool = Executors.newFixedThreadPool(bidders);
+        List<Future<List<BigDecimal>>> results = new ArrayList<>();
+        try {
+            for (int b = 0; b < bidders; b++) {
+                int offset = b;
+                User bidder = b % 2 == 0 ? janusz : wiesiek;
+                results.add(pool.submit(() -> {
+                    List<BigDecimal> accepted = new ArrayList<>();
+                    List<CompletableFuture<Void>> commits = new ArrayList<>();
+                    for (int i = 0; i < bidsEach; i++) {
+                        BigDecimal amount = BigDecimal.valueOf(10 + i * bidders + offset);
+                        try {
+                            commits.add(bidEngine.placeBid(auctionId, bidder, amount));
+                            accepted.add(amount);
+                        } catch (IllegalArgumentException e) {
+                            // outbid in the meantime
+                        }
+                    }
+                    commits.forEach(CompletableFuture::join);
+                    return accepted;
+                }));
+            }
+            List<BigDecimal> accepted = new ArrayList<>();
+            for (Future<List<BigDecimal>> result : results) {
+                accepted.addAll(result.get(30, TimeUnit.SECONDS));
+            }
+
+            BigDecimal highest = accepted.stream().max(BigDecimal::compareTo).orElseThrow();
+            assertThat(highest).isEqualByComparingTo(BigDecimal.valueOf(10 + (bidsEach - 1) * bidders + bidders - 1));
+            assertThat(bidCount()).isEqualTo(accepted.size());
+            assertThat((Integer) auctionRow().get("BID_COUNT")).isEqualTo(accepted.size());
+            assertThat((BigDecimal) auctionRow().get("CURRENT_BID")).isEqualByComparingTo(highest);
+            // every accepted bid was above all bids accepted before it
+            List<BigDecimal> stored = jdbcTemplate.queryForList("SELECT amount FROM bids WHERE auction_id = ? ORDER BY id",
+                    BigDecimal.class, auctionId);
+            assertThat(stored).isSortedAccordingTo(BigDecimal::compareTo).doesNotHaveDuplicates();
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private Map<String, Object> auctionRow() {
+        return jdbcTemplate.queryForMap("SELECT current_bid, leading_bidder_id, bid_count FROM auctions WHERE id = ?",
+                auctionId);
+    }
+
+    private int bidCount() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM bids WHERE auction_id = ?", Integer.class, auctionId);
+    }
+}
@@ -0,0 +1,165 @@
+package auction.services.bidding;
+
+import auction.dao.IUserDAO;
+import auction.model.Auction;
+import auction.model.User;
+import auction.services.IAuctionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:proxy-bidding-test",
+        "spring.jpa.show-sql=false",
+        "logging.level.root=WARN"})
+class ProxyBiddingTest {
+
+    @Autowired
+    private BidEngine bidEngine;
+
+    @Autowired
+    private IAuctionService auctionService;
+
+    @Autowired
+    private IUserDAO userDAO;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User janusz;
+    private User wiesiek;
+    private User admin;
+    private Long auctionId;
+
+    @BeforeEach
+    void createAuction() {
+        janusz = userDAO.getByLogin("janusz").orElseThrow();
+        wiesiek = userDAO.getByLogin("wiesiek").orElseThrow();
+        admin = userDAO.getByLogin("admin").orElseThrow();
+        Auction auction = Auction.builder()
+                .title("Proxy bidding test auction")
+                .description("Auction bid on with maximum bids")
+                .startingPrice(new BigDecimal("10"))
+                .buyNowPrice(new BigDecimal("100000"))
+                .endTime(LocalDateTime.now().plusDays(1))
+                .seller(admin)
+                .category("Collectibles")
+                .build();
+        auctionService.createAuction(auction);
+        auctionId = auction.getId();
+    }
+
+    @Test
+    void firstMaximumOpensAtTheStartingPrice() {
+        bidEngine.placeProxyBid(auctionId, janusz, new BigDecimal("50")).join();
+
+        assertThat(bids()).containsExactly("janusz 10");
+        assertThat(maxAmount(janusz)).isEqualByComparingTo("50");
+    }
+
+    @Test
+    void lowerBidIsAnsweredOneIncrementAbove() {
+        bidEngine.placeProxyBid(auctionId, janusz, new BigDecimal("50")).join();
+        bidEngine.placeBid(auctionId, wiesiek, new BigDecimal("20")).join();
+
+        assertThat(bids()).containsExactly("janusz 10", "wiesiek 20", "janusz 21");
+        assertThat(leaderId()).isEqualTo(janusz.getId());
+    }
+
+    @Test
+    void bidUpToTheMaximumIsAnsweredWithTheMaximum() {
+        bidEngine.placeProxyBid(auctionId, janusz, new BigDecimal("50")).join();
+        bidEngine.placeBid(auctionId, wiesiek, new BigDecimal("50")).join();
+
+        assertThat(bids()).containsExactly("janusz 10", "wiesiek 50", "janusz 50");
+        assertThat(leaderId()).isEqualTo(janusz.getId());
+    }
+
+    @Test
+    void bidAboveTheMaximumTakesTheLead() {
+        bidEngine.placeProxyBid(auctionId, janusz, new BigDecimal("50")).join();
+        bidEngine.placeBid(auctionId, wiesiek, new BigDecimal("60")).join();
+        bidEngine.placeBid(auctionId, admin, new BigDecimal("61")).join();
+
+        assertThat(bids()).containsExactly("janusz 10", "wiesiek 60", "admin 61");
+        assertThat(leaderId()).isEqualTo(admin.getId());
+    }
+
+    @Test
+    void lowerMaximumIsOutbidByTheLeadingOne() {
+        bidEngine.placeProxyBid(auctionId, janusz, new BigDecimal("50")).join();
+        bidEngine.placeProxyBid(auctionId, wiesiek, new BigDecimal("30")).join();
+
+        assertThat(bids()).containsExactly("janusz 10", "wiesiek 30", "janusz 31");
+        assertThat(leaderId()).isEqualTo(janusz.getId());
+    }
+
+    @Test
+    void higherMaximumTakesOverOneIncrementAboveTheOldOne() {
+        bidEngine.placeProxyBid(auctionId, janusz, new BigDecimal("50")).join();
+        bidEngine.placeProxyBid(auctionId, wiesiek, new BigDecimal("30")).join();
+        bidEngine.placeProxyBid(auctionId, admin, new BigDecimal("80")).join();
+
+        assertThat(bids()).containsExactly("janusz 10", "wiesiek 30", "janusz 31", "janusz 50", "admin 51");
+        assertThat(leaderId()).isEqualTo(admin.getId());
+
+        // the displaced maximum is priced in already, the next bid only meets the new leader's maximum
+        bidEngine.placeBid(auctionId, janusz, new BigDecimal("60")).join();
+        assertThat(bids()).endsWith("janusz 60", "admin 61");
+    }
+
+    @Test
+    void raisingYourOwnMaximumAddsNoBid() {
+        bidEngine.placeProxyBid(auctionId, janusz, new BigDecimal("50")).join();
+        bidEngine.placeProxyBid(auctionId, janusz, new BigDecimal("70")).join();
+
+        assertThat(bids()).containsExactly("janusz 10");
+        assertThat(maxAmount(janusz)).isEqualByComparingTo("70");
+        assertThatThrownBy(() -> bidEngine.placeProxyBid(auctionId, janusz, new BigDecimal("60")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Maximum bid must be greater than your current maximum");
+    }
+
+    @Test
+    void maximumNotAboveThePriceIsRejected() {
+        bidEngine.placeBid(auctionId, janusz, new BigDecimal("40")).join();
+
+        assertThatThrownBy(() -> bidEngine.placeProxyBid(auctionId, wiesiek, new BigDecimal("40")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Maximum bid must be greater than the current highest bid");
+    }
+
+    @Test
+    void leadingMaximumSurvivesABookReload() {
+        bidEngine.placeProxyBid(auctionId, janusz, new BigDecimal("50")).join();
+        bidEngine.evict(auctionId);
+        bidEngine.placeBid(auctionId, wiesiek, new BigDecimal("20")).join();
+
+        assertThat(bids()).containsExactly("janusz 10", "wiesiek 20", "janusz 21");
+    }
+
+    private List<String> bids() {
+        return jdbcTemplate.query("SELECT u.login, b.amount FROM bids b JOIN tuser u ON u.id = b.bidder_id "
+                        + "WHERE b.auction_id = ? ORDER BY b.id",
+                (row, i) -> row.getString(1) + " " + row.getBigDecimal(2).stripTrailingZeros().toPlainString(),
+                auctionId);
+    }
+
+    private Long leaderId() {
+        return jdbcTemplate.queryForObject("SELECT leading_bidder_id FROM auctions WHERE id = ?", Long.class, auctionId);
+    }
+
+    private BigDecimal maxAmount(User bidder) {
+        return jdbcTemplate.queryForObject("SELECT max_amount FROM proxy_bids WHERE auction_id = ? AND bidder_id = ?",
+                BigDecimal.class, auctionId, bidder.getId());
+    }
+}
@@ -0,0 +1,89 @@
+package auction.services.cache;
+
+import auction.dao.IUserDAO;
+import auction.model.Auction;
+import auction.model.AuctionDetails;
+import auction.model.User;
+import auction.services.IAuctionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:auction-cache-test",
+        "spring.jpa.show-sql=false",
+        "logging.level.root=WARN"})
+class AuctionCacheInvalidatorTest {
+
+    private static final int BIDS = 300;
+    private static final int READERS = 4;
+
+    @Autowired
+    private IAuctionService auctionService;
+
+    @Autowired
+    private IUserDAO userDAO;
+
+    @Test
+    void detailsReadRightAfterABidShowTheBidWhileOthersKeepReading() throws Exception {
+        User seller = userDAO.getByLogin("janusz").orElseThrow();
+        User bidder = userDAO.getByLogin("wiesiek").orElseThrow();
+        Auction auction = Auction.builder()
+                .title("Cache test auction")
+                .description("Auction read while it is being bid on")
+                .startingPrice(BigDecimal.ONE)
+                .buyNowPrice(new BigDecimal("100000"))
+                .endTime(LocalDateTime.now().plusDays(1))
+                .seller(seller)
+                .category("Collectibles")
+                .build();
+        auctionService.createAuction(auction);
+        Long id = auction.getId();
+
+        // readers keep repopulating the cached details, so some loads always straddle a bid commit
+        AtomicBoolean running = new AtomicBoolean(true);
+        ExecutorService readers = Executors.newFixedThreadPool(READERS);
+        List<Future<?>> reads = new ArrayList<>();
+        for (int i = 0; i < READERS; i++) {
+            reads.add(readers.submit(() -> {
+                while (running.get()) {
+                    auctionService.getAuctionDetails(id);
+                    auctionService.getBidsForAuction(id);
+                    auctionService.getAuctionById(id);
+                }
+            }));
+        }
+        try {
+            for (int i = 1; i <= BIDS; i++) {
+                BigDecimal amount = BigDecimal.valueOf(i);
+                auctionService.placeBid(id, bidder, amount);
+
+                AuctionDetails details = auctionService.getAuctionDetails(id);
+                assertThat(details.getCurrentBid()).as("current bid after bid %d", i).isEqualByComparingTo(amount);
+                assertThat(details.getBidCount()).as("bid count after bid %d", i).isEqualTo(i);
+                assertThat(auctionService.getBidsForAuction(id).size()).as("bids after bid %d", i).isEqualTo(i);
+                assertThat(auctionService.getAuctionById(id).getCurrentBid()).as("auction after bid %d", i)
+                        .isEqualByComparingTo(amount);
+            }
+        } finally {
+            running.set(false);
+            readers.shutdown();
+            assertThat(readers.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        }
+        for (Future<?> read : reads) {
+            read.get();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package auction.services.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VersionedCacheTest {
+
+    private final Map<Object, Long> versions = new ConcurrentHashMap<>();
+    private final VersionedCache cache =
+            new VersionedCache(new CaffeineCache("test", Caffeine.newBuilder().build()), versions);
+
+    @Test
+    void concurrentMissesLoadOnce() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService readers = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> reads = new ArrayList<>();
+            reads.add(readers.submit(() -> cache.get(1L, () -> {
+                loads.incrementAndGet();
+                loading.countDown();
+                release.await();
+                return "auction";
+            })));
+            assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+            for (int i = 0; i < 7; i++) {
+                reads.add(readers.submit(() -> cache.get(1L, () -> {
+                    loads.incrementAndGet();
+                    return "auction";
+                })));
+            }
+            Thread.sleep(100);
+            release.countDown();
+            for (Future<String> read : reads) {
+                assertThat(read.get(5, TimeUnit.SECONDS)).isEqualTo("auction");
+            }
+        } finally {
+            readers.shutdownNow();
+        }
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void valueLoadedAcrossAnEvictionIsNeverServedAgain() {
+        String stale = cache.get(1L, () -> {
+            // the change commits while this load is still running, its eviction finds nothing to evict yet
+            versions.merge(1L, 1L, Long::sum);
+            return "before the bid";
+        });
+        assertThat(stale).isEqualTo("before the bid");
+
+        assertThat(cache.get(1L)).isNull();
+        assertThat(cache.get(1L, () -> "after the bid")).isEqualTo("after the bid");
+        assertThat(cache.get(1L, () -> "reloaded")).isEqualTo("after the bid");
+    }
+
+    @Test
+    void loadFailuresReachTheCaller() {
+        RuntimeException failure = new RuntimeException("Auction not found with id: 1");
+        try {
+            cache.get(1L, () -> {
+                throw failure;
+            });
+        } catch (RuntimeException e) {
+            assertThat(e).isInstanceOf(org.springframework.cache.Cache.ValueRetrievalException.class)
+                    .hasCause(failure);
+            assertThat(cache.get(1L)).isNull();
+            return;
+        }
+        throw new AssertionError("Expected the load to fail");
+    }
+}
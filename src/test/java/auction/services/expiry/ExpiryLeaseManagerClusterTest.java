@@ -0,0 +1,101 @@
+package auction.services.expiry;
+
+import auction.App;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two nodes of the cluster profile in one JVM, sharing an H2 file database.
+ */
+class ExpiryLeaseManagerClusterTest {
+
+    private static final int RANGES = 8;
+    private static final long LEASE_TTL_MS = 2000;
+
+    @TempDir
+    Path dataDir;
+
+    private ConfigurableApplicationContext first;
+    private ConfigurableApplicationContext second;
+
+    @AfterEach
+    void stopNodes() {
+        if (second != null) {
+            second.close();
+        }
+        if (first != null) {
+            first.close();
+        }
+    }
+
+    @Test
+    void nodesSplitTheRangesAndTheSurvivorTakesOverAfterACrash() {
+        first = startNode("node-1");
+        ExpiryLeaseManager firstLeases = first.getBean(ExpiryLeaseManager.class);
+        awaitTrue(() -> ownedRanges(firstLeases).size() == RANGES, "node-1 to own every range");
+
+        second = startNode("node-2");
+        ExpiryLeaseManager secondLeases = second.getBean(ExpiryLeaseManager.class);
+        awaitTrue(() -> ownedRanges(firstLeases).size() == RANGES / 2 && ownedRanges(secondLeases).size() == RANGES / 2,
+                "the ranges to be split between node-1 and node-2");
+        Set<Integer> split = new TreeSet<>(ownedRanges(firstLeases));
+        assertThat(split).doesNotContainAnyElementsOf(ownedRanges(secondLeases));
+        split.addAll(ownedRanges(secondLeases));
+        assertThat(split).hasSize(RANGES);
+
+        // stop node-1 renewing without releasing anything, as if its process died
+        first.getBean(ThreadPoolTaskScheduler.class).shutdown();
+        awaitTrue(() -> ownedRanges(firstLeases).isEmpty() && ownedRanges(secondLeases).size() == RANGES,
+                "node-2 to take over the ranges of node-1");
+    }
+
+    private ConfigurableApplicationContext startNode(String nodeId) {
+        return new SpringApplicationBuilder(App.class).run(
+                "--spring.profiles.active=cluster",
+                "--spring.datasource.url=jdbc:h2:file:" + dataDir.resolve("auction") + ";AUTO_SERVER=TRUE",
+                "--server.port=0",
+                "--auction.node-id=" + nodeId,
+                "--auction.expiry.lease-ranges=" + RANGES,
+                "--auction.expiry.lease-ttl-ms=" + LEASE_TTL_MS,
+                "--auction.expiry.lease-renew-ms=200",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN");
+    }
+
+    private static Set<Integer> ownedRanges(ExpiryLeaseManager leaseManager) {
+        Set<Integer> owned = new TreeSet<>();
+        for (int id = 0; id < RANGES; id++) {
+            if (leaseManager.owns((long) id)) {
+                owned.add(id);
+            }
+        }
+        return owned;
+    }
+
+    private static void awaitTrue(BooleanSupplier condition, String description) {
+        long deadline = System.nanoTime() + Duration.ofMillis(LEASE_TTL_MS * 5).toNanos();
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("Timed out waiting for " + description);
+            }
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AssertionError("Interrupted waiting for " + description, e);
+            }
+        }
+    }
+}
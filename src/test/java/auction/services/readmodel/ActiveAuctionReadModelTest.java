@@ -0,0 +1,131 @@
+package auction.services.readmodel;
+
+import auction.events.AuctionClosedEvent;
+import auction.events.AuctionCreatedEvent;
+import auction.events.AuctionUpdatedEvent;
+import auction.events.BidPlacedEvent;
+import auction.model.Auction;
+import auction.model.AuctionCard;
+import auction.repository.listing.AuctionSort;
+import auction.repository.listing.ListingCursor;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ActiveAuctionReadModelTest {
+
+    private static final LocalDateTime END = LocalDateTime.of(2026, 11, 1, 12, 0);
+
+    private final ActiveAuctionReadModel readModel = new ActiveAuctionReadModel(null);
+
+    @Test
+    void pagesAreSortedWithTheIdBreakingTies() {
+        create(1L, "Books", "20", 0, END.plusHours(2));
+        create(2L, "Books", "10", 3, END);
+        create(3L, "Music", "20", 1, END.plusHours(2));
+        create(4L, "Books", "15", 3, END.plusHours(1));
+
+        assertThat(ids(AuctionSort.DEFAULT, null)).containsExactly(1L, 2L, 3L, 4L);
+        assertThat(ids(AuctionSort.PRICE_ASC, null)).containsExactly(2L, 4L, 1L, 3L);
+        assertThat(ids(AuctionSort.PRICE_DESC, null)).containsExactly(3L, 1L, 4L, 2L);
+        assertThat(ids(AuctionSort.TIME_ASC, null)).containsExactly(2L, 4L, 1L, 3L);
+        assertThat(ids(AuctionSort.TIME_DESC, null)).containsExactly(3L, 1L, 4L, 2L);
+        assertThat(ids(AuctionSort.POPULARITY, null)).containsExactly(4L, 2L, 3L, 1L);
+        assertThat(ids(AuctionSort.PRICE_DESC, "Books")).containsExactly(1L, 4L, 2L);
+        assertThat(ids(AuctionSort.PRICE_ASC, "Garden")).isEmpty();
+    }
+
+    @Test
+    void pageContinuesAfterTheCursorAndHonoursTheIdFilter() {
+        for (long id = 1; id <= 6; id++) {
+            create(id, "Books", "10", 0, END);
+        }
+        AuctionCard third = readModel.findAll(List.of(3L)).get(0);
+
+        assertThat(readModel.findPage(null, null, AuctionSort.PRICE_ASC, ListingCursor.after(AuctionSort.PRICE_ASC, third), 2))
+                .extracting(AuctionCard::getId).containsExactly(4L, 5L);
+        assertThat(readModel.findPage(null, Set.of(2L, 5L, 6L), AuctionSort.POPULARITY, null, 2))
+                .extracting(AuctionCard::getId).containsExactly(6L, 5L);
+    }
+
+    @Test
+    void bidsMoveAnAuctionThroughTheSortedViews() {
+        create(1L, "Books", "10", 0, END);
+        create(2L, "Books", "12", 0, END);
+
+        readModel.onBidPlaced(bid(1L, "30", 1));
+
+        assertThat(ids(AuctionSort.PRICE_DESC, "Books")).containsExactly(1L, 2L);
+        assertThat(ids(AuctionSort.POPULARITY, null)).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void lateEventsNeverRollBackTheBids() {
+        create(1L, "Books", "10", 0, END);
+        readModel.onBidPlaced(bid(1L, "25", 2));
+
+        // an older bid event and an edit made before the bids arrive after them
+        readModel.onBidPlaced(bid(1L, "20", 1));
+        readModel.onUpdated(new AuctionUpdatedEvent(card(1L, "Books", "10", 0, END).withTitle("Edited")));
+
+        AuctionCard card = readModel.findAll(List.of(1L)).get(0);
+        assertThat(card.getTitle()).isEqualTo("Edited");
+        assertThat(card.getCurrentBid()).isEqualByComparingTo("25");
+        assertThat(card.getBidCount()).isEqualTo(2);
+        assertThat(ids(AuctionSort.PRICE_ASC, null)).containsExactly(1L);
+    }
+
+    @Test
+    void facetsCountEachCategoryAndAll() {
+        create(1L, "Books", "20", 0, END);
+        create(2L, "Books", "5", 0, END);
+        create(3L, "Music", "40", 0, END);
+        readModel.onBidPlaced(bid(2L, "50", 1));
+
+        assertThat(readModel.findFacets(List.of("All", "Books", "Music", "Garden"), "All")).containsExactly(
+                new CategoryFacet("All", 3, new BigDecimal("20"), new BigDecimal("50")),
+                new CategoryFacet("Books", 2, new BigDecimal("20"), new BigDecimal("50")),
+                new CategoryFacet("Music", 1, new BigDecimal("40"), new BigDecimal("40")),
+                new CategoryFacet("Garden", 0, null, null));
+    }
+
+    @Test
+    void closedAuctionsLeaveThePagesAndFacets() {
+        create(1L, "Books", "20", 0, END);
+        create(2L, "Books", "30", 0, END);
+
+        readModel.onClosed(new AuctionClosedEvent(2L));
+        readModel.onUpdated(new AuctionUpdatedEvent(card(1L, "Books", "20", 0, END)
+                .withStatus(Auction.AuctionStatus.FINISHED)));
+
+        assertThat(ids(AuctionSort.DEFAULT, null)).isEmpty();
+        assertThat(readModel.categoryOf(1L)).isNull();
+        assertThat(readModel.findFacets(List.of("Books"), "All"))
+                .containsExactly(new CategoryFacet("Books", 0, null, null));
+    }
+
+    private void create(Long id, String category, String price, int bidCount, LocalDateTime endTime) {
+        readModel.onCreated(new AuctionCreatedEvent(card(id, category, price, bidCount, endTime)));
+    }
+
+    private List<Long> ids(AuctionSort sort, String category) {
+        List<Long> ids = new ArrayList<>();
+        readModel.findPage(category, null, sort, null, 100).forEach(card -> ids.add(card.getId()));
+        return ids;
+    }
+
+    private static AuctionCard card(Long id, String category, String price, int bidCount, LocalDateTime endTime) {
+        return new AuctionCard(id, "Auction " + id, "", category, Auction.AuctionStatus.ACTIVE, new BigDecimal(price),
+                null, new BigDecimal(price), bidCount, endTime);
+    }
+
+    private static BidPlacedEvent bid(Long auctionId, String currentBid, int bidCount) {
+        return new BidPlacedEvent(auctionId, new BigDecimal(currentBid), 1L, bidCount, List.of());
+    }
+}
@@ -0,0 +1,111 @@
+package auction.services.search;
+
+import auction.events.AuctionClosedEvent;
+import auction.events.AuctionCreatedEvent;
+import auction.events.AuctionUpdatedEvent;
+import auction.events.BidPlacedEvent;
+import auction.model.Auction;
+import auction.model.AuctionCard;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuctionSearchIndexTest {
+
+    private final AuctionSearchIndex index = new AuctionSearchIndex(null);
+
+    @Test
+    void queryTermsMatchIndexTermsByPrefix() {
+        index(1L, "Brass telescope", "Works fine", "Optics");
+        index(2L, "Telephone", "Rotary dial", "Electronics");
+        index(3L, "Television", "Black and white", "Electronics");
+
+        assertThat(index.search("tele", null, 10)).containsExactlyInAnyOrder(1L, 2L, 3L);
+        assertThat(index.search("telep", null, 10)).containsExactly(2L);
+        assertThat(index.search("TELESCOPES", null, 10)).isEmpty();
+    }
+
+    @Test
+    void everyQueryTermHasToMatch() {
+        index(1L, "Red bicycle", "Three gears", "Sports");
+        index(2L, "Blue bicycle", "Red bell", "Sports");
+        index(3L, "Red lamp", "", "Lighting");
+
+        assertThat(index.search("red bicycle", null, 10)).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(index.search("red bell lamp", null, 10)).isEmpty();
+    }
+
+    @Test
+    void titleHitsOutrankDescriptionHits() {
+        index(1L, "Old clock", "Wound by hand", "Antiques");
+        index(2L, "Old watch", "Fits any clock stand", "Antiques");
+
+        assertThat(index.search("clock", null, 10)).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void rareTermsWeighMoreThanCommonOnes() {
+        index(1L, "Vintage radio", "", "Electronics");
+        index(2L, "Vintage vase", "", "Home");
+        index(3L, "Vintage chair", "", "Home");
+        index(4L, "Modern radio vase", "", "Home");
+
+        // "v" expands to vintage, on three of the four auctions, and vase, on two of them
+        assertThat(index.search("v", null, 10)).containsExactly(2L, 4L, 1L, 3L);
+    }
+
+    @Test
+    void equalScoresAreRankedByBidCountThenId() {
+        index(1L, "Poster", "", "Art");
+        index(2L, "Poster", "", "Art");
+        index(3L, "Poster", "", "Art");
+
+        index.onBidPlaced(new BidPlacedEvent(3L, BigDecimal.TEN, 1L, 4, List.of()));
+
+        assertThat(index.search("poster", null, 10)).containsExactly(3L, 1L, 2L);
+        assertThat(index.search("poster", null, 2)).containsExactly(3L, 1L);
+    }
+
+    @Test
+    void categoryFilterKeepsOnlyItsAuctions() {
+        index(1L, "Guitar", "", "Music");
+        index(2L, "Guitar stand", "", "Furniture");
+
+        assertThat(index.search("guitar", "Music", 10)).containsExactly(1L);
+        assertThat(index.search("guitar", "Garden", 10)).isEmpty();
+    }
+
+    @Test
+    void closedAndEditedAuctionsLeaveTheirOldTerms() {
+        index(1L, "Kayak", "", "Sports");
+        index(2L, "Canoe", "", "Sports");
+
+        index.onClosed(new AuctionClosedEvent(1L));
+        index.onUpdated(new AuctionUpdatedEvent(card(2L, "Rowing boat", "", "Sports")));
+
+        assertThat(index.search("kayak", null, 10)).isEmpty();
+        assertThat(index.search("canoe", null, 10)).isEmpty();
+        assertThat(index.search("row", null, 10)).containsExactly(2L);
+    }
+
+    @Test
+    void queriesWithoutTermsFindNothing() {
+        index(1L, "Anything", "", "Misc");
+
+        assertThat(index.search("  ,.! ", null, 10)).isEmpty();
+        assertThat(index.search(null, null, 10)).isEmpty();
+    }
+
+    private void index(Long id, String title, String description, String category) {
+        index.onCreated(new AuctionCreatedEvent(card(id, title, description, category)));
+    }
+
+    private static AuctionCard card(Long id, String title, String description, String category) {
+        return new AuctionCard(id, title, description, category, Auction.AuctionStatus.ACTIVE, BigDecimal.ONE, null,
+                BigDecimal.ONE, 0, LocalDateTime.now().plusDays(1));
+    }
+}
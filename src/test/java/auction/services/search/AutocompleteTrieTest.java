@@ -0,0 +1,114 @@
+package auction.services.search;
+
+import auction.events.AuctionClosedEvent;
+import auction.events.AuctionCreatedEvent;
+import auction.events.AuctionUpdatedEvent;
+import auction.events.BidPlacedEvent;
+import auction.model.Auction;
+import auction.model.AuctionCard;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AutocompleteTrieTest {
+
+    private final AutocompleteTrie trie = new AutocompleteTrie(null, 3);
+
+    @Test
+    void completesFromTheStartOfEveryWord() {
+        create(1L, "Vintage Car", "Vehicles", 0);
+        create(2L, "Carpet", "Home", 0);
+
+        assertThat(texts("car")).containsExactlyInAnyOrder("Vintage Car", "Carpet");
+        assertThat(texts("vin")).containsExactly("Vintage Car");
+        assertThat(texts("age")).isEmpty();
+    }
+
+    @Test
+    void prefixEndingInsideAnEdgeMatchesEverythingBelowIt() {
+        create(1L, "Telescope", "Optics", 0);
+        create(2L, "Telephone", "Electronics", 0);
+
+        assertThat(texts("t")).containsExactlyInAnyOrder("Telescope", "Telephone");
+        assertThat(texts("teles")).containsExactly("Telescope");
+        assertThat(texts("telesx")).isEmpty();
+    }
+
+    @Test
+    void returnsTheTopEntriesByBidCount() {
+        create(1L, "Lamp one", "Lighting", 1);
+        create(2L, "Lamp two", "Lighting", 7);
+        create(3L, "Lamp three", "Lighting", 3);
+        create(4L, "Lamp four", "Lighting", 5);
+
+        // the category sums its auctions and outranks every one of them
+        assertThat(trie.complete("l", 10)).extracting(Suggestion::text)
+                .containsExactly("Lighting", "Lamp two", "Lamp four");
+        assertThat(trie.complete("lamp", 2)).extracting(Suggestion::text)
+                .containsExactly("Lamp two", "Lamp four");
+    }
+
+    @Test
+    void bidsUpdateCountsAndReachTheRankingAfterARerank() {
+        create(1L, "Clock", "Antiques", 2);
+        create(2L, "Chair", "Antiques", 1);
+
+        trie.onBidPlaced(bid(2L, 5));
+        List<Suggestion> beforeRerank = trie.complete("c", 10);
+        assertThat(beforeRerank).extracting(Suggestion::text).containsExactly("Chair", "Clock");
+        assertThat(beforeRerank).extracting(Suggestion::bidCount).containsExactly(5, 2);
+
+        trie.onBidPlaced(bid(1L, 3));
+        trie.rerank();
+        assertThat(trie.complete("a", 10)).extracting(Suggestion::bidCount).containsExactly(8);
+    }
+
+    @Test
+    void removedEntriesDisappearAndTheirEdgesAreMergedBack() {
+        create(1L, "Tea", "Kitchen", 0);
+        create(2L, "Teapot", "Kitchen", 0);
+        create(3L, "Teacup", "Kitchen", 0);
+
+        trie.onClosed(new AuctionClosedEvent(2L));
+        assertThat(texts("tea")).containsExactlyInAnyOrder("Tea", "Teacup");
+        trie.onClosed(new AuctionClosedEvent(1L));
+        assertThat(texts("teac")).containsExactly("Teacup");
+        assertThat(texts("teap")).isEmpty();
+        trie.onClosed(new AuctionClosedEvent(3L));
+        assertThat(texts("k")).isEmpty();
+        assertThat(texts("t")).isEmpty();
+    }
+
+    @Test
+    void renamedAuctionsMoveInTheTrie() {
+        create(1L, "Old name", "Misc", 0);
+        trie.onUpdated(new AuctionUpdatedEvent(card(1L, "New name", "Misc", 0)));
+
+        assertThat(texts("old")).isEmpty();
+        assertThat(texts("new")).containsExactly("New name");
+    }
+
+    private void create(Long id, String title, String category, int bidCount) {
+        trie.onCreated(new AuctionCreatedEvent(card(id, title, category, bidCount)));
+    }
+
+    private List<String> texts(String prefix) {
+        return trie.complete(prefix, 10).stream()
+                .filter(suggestion -> Suggestion.TITLE.equals(suggestion.type()))
+                .map(Suggestion::text)
+                .toList();
+    }
+
+    private static AuctionCard card(Long id, String title, String category, int bidCount) {
+        return new AuctionCard(id, title, "", category, Auction.AuctionStatus.ACTIVE, BigDecimal.ONE, null,
+                null, bidCount, LocalDateTime.now().plusDays(1));
+    }
+
+    private static BidPlacedEvent bid(Long auctionId, int bidCount) {
+        return new BidPlacedEvent(auctionId, BigDecimal.valueOf(bidCount), 1L, bidCount, List.of());
+    }
+}